@@ -0,0 +1,94 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.manifests;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of {@link Manifests#append(Mfs)} over a classpath of JARs.
+ *
+ * @since 2.1.0
+ * @checkstyle DesignForExtensionCheck (500 lines)
+ * @checkstyle VisibilityModifierCheck (500 lines)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@SuppressWarnings("PMD")
+public class AppendBenchmark {
+
+    /**
+     * Number of JARs in classpath.
+     */
+    @Param({"10", "100", "1000"})
+    public int jars;
+
+    /**
+     * Number of threads to parse with.
+     */
+    @Param({"1", "4"})
+    public int threads;
+
+    /**
+     * The JARs.
+     */
+    private SyntheticJars classpath;
+
+    /**
+     * Class loader with all JARs.
+     */
+    private ClassLoader loader;
+
+    /**
+     * Make JARs.
+     * @throws IOException If fails
+     */
+    @Setup
+    public void setup() throws IOException {
+        this.classpath = new SyntheticJars(this.jars);
+        this.loader = this.classpath.loader();
+    }
+
+    /**
+     * Delete JARs.
+     * @throws IOException If fails
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        this.classpath.delete();
+    }
+
+    /**
+     * Append all manifests from classpath.
+     * @return The map
+     * @throws IOException If fails
+     */
+    @Benchmark
+    public MfMap append() throws IOException {
+        final MfMap map = new Manifests(
+            new HashMap<>(0), new MfSettings().withThreads(this.threads)
+        );
+        map.append(new ClasspathMfs(this.loader));
+        return map;
+    }
+
+}
@@ -0,0 +1,120 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.manifests;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of {@link Manifests#append(Mfs)} by many threads at once,
+ * all of them appending the same attributes to one map.
+ *
+ * @since 2.1.0
+ * @checkstyle DesignForExtensionCheck (500 lines)
+ * @checkstyle VisibilityModifierCheck (500 lines)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Threads(4)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@SuppressWarnings("PMD")
+public class ContentionBenchmark {
+
+    /**
+     * Merge policy: "first", "last" or "priority".
+     */
+    @Param({"first", "last", "priority"})
+    public String policy;
+
+    /**
+     * Number of attributes in each manifest.
+     */
+    @Param({"20"})
+    public int attributes;
+
+    /**
+     * The manifest.
+     */
+    private byte[] manifest;
+
+    /**
+     * Number of appends so far, to name sources.
+     */
+    private AtomicInteger appends;
+
+    /**
+     * The map all threads append to.
+     */
+    private MfMap map;
+
+    /**
+     * Make the manifest.
+     */
+    @Setup
+    public void setup() {
+        final StringBuilder text = new StringBuilder(0);
+        for (int idx = 0; idx < this.attributes; ++idx) {
+            text.append("Shared-Key-").append(idx).append(": value\n");
+        }
+        this.manifest = text.toString().getBytes(StandardCharsets.UTF_8);
+        this.appends = new AtomicInteger();
+    }
+
+    /**
+     * Make an empty map.
+     */
+    @Setup(Level.Iteration)
+    public void empty() {
+        final MfPolicy plcy;
+        if ("last".equals(this.policy)) {
+            plcy = MfPolicy.LAST;
+        } else if ("priority".equals(this.policy)) {
+            plcy = new PriorityPolicy((key, source) -> source.hashCode());
+        } else {
+            plcy = MfPolicy.FIRST;
+        }
+        this.map = new Manifests(
+            new HashMap<>(0), new MfSettings().withPolicy(plcy)
+        );
+    }
+
+    /**
+     * Append one manifest.
+     * @return The map
+     * @throws IOException If fails
+     */
+    @Benchmark
+    public MfMap append() throws IOException {
+        final String name = Integer.toString(this.appends.incrementAndGet());
+        this.map.append(
+            () -> Collections.singleton(
+                new NamedStream(name, new ByteArrayInputStream(this.manifest))
+            )
+        );
+        return this.map;
+    }
+
+}
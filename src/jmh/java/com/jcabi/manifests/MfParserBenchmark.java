@@ -0,0 +1,137 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.manifests;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.Attributes;
+import java.util.jar.Manifest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of {@link MfParser} against {@link Manifest}.
+ *
+ * <p>Manifests are built like the ones of signed JARs: a few main
+ * attributes and then a section with {@code SHA-256-Digest} for each
+ * class, written by {@link Manifest#write(java.io.OutputStream)}, so
+ * long lines are wrapped at 72 bytes, exactly as {@code jarsigner}
+ * does.
+ *
+ * @since 2.1.0
+ * @checkstyle DesignForExtensionCheck (500 lines)
+ * @checkstyle VisibilityModifierCheck (500 lines)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@SuppressWarnings("PMD")
+public class MfParserBenchmark {
+
+    /**
+     * Number of signed entries in the manifest.
+     */
+    @Param({"0", "100", "10000"})
+    public int entries;
+
+    /**
+     * The manifest.
+     */
+    private byte[] bytes;
+
+    /**
+     * Build the manifest.
+     * @throws IOException If fails
+     */
+    @Setup
+    public void setup() throws IOException {
+        this.bytes = MfParserBenchmark.signed(this.entries);
+    }
+
+    /**
+     * Parse with our parser.
+     * @return Attributes
+     * @throws IOException If fails
+     */
+    @Benchmark
+    public Map<String, String> streaming() throws IOException {
+        return new MfParser(new ByteArrayInputStream(this.bytes)).main();
+    }
+
+    /**
+     * Parse with JDK.
+     * @return Attributes
+     * @throws IOException If fails
+     */
+    @Benchmark
+    public Attributes jdk() throws IOException {
+        return new Manifest(new ByteArrayInputStream(this.bytes))
+            .getMainAttributes();
+    }
+
+    /**
+     * Make a manifest of a signed JAR.
+     * @param total Number of signed entries
+     * @return The manifest
+     * @throws IOException If fails
+     */
+    static byte[] signed(final int total) throws IOException {
+        final Manifest manifest = new Manifest();
+        final Attributes main = manifest.getMainAttributes();
+        main.put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        main.putValue("Created-By", "Apache Maven 3.9.9");
+        main.putValue("Built-By", "jenkins");
+        main.putValue("Build-Jdk-Spec", "17");
+        main.putValue("Implementation-Title", "Bouncy Castle Provider");
+        main.putValue("Implementation-Vendor", "BouncyCastle.org");
+        main.putValue("Implementation-Version", "1.78.1");
+        main.putValue("Bundle-SymbolicName", "bcprov");
+        main.putValue(
+            "Export-Package",
+            "org.bouncycastle;version=\"1.78.1\",org.bouncycastle.asn1;"
+                + "version=\"1.78.1\",org.bouncycastle.asn1.anssi;"
+                + "version=\"1.78.1\",org.bouncycastle.asn1.bc;"
+                + "version=\"1.78.1\",org.bouncycastle.asn1.cryptopro;"
+                + "version=\"1.78.1\",org.bouncycastle.asn1.edec"
+        );
+        final Random random = new Random(42L);
+        final byte[] digest = new byte[32];
+        for (int idx = 0; idx < total; ++idx) {
+            random.nextBytes(digest);
+            final Attributes entry = new Attributes();
+            entry.putValue(
+                "SHA-256-Digest", Base64.getEncoder().encodeToString(digest)
+            );
+            manifest.getEntries().put(
+                String.format(
+                    "org/bouncycastle/pqc/crypto/crystals/dilithium/Class%d.class",
+                    idx
+                ),
+                entry
+            );
+        }
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        manifest.write(output);
+        return output.toByteArray();
+    }
+
+}
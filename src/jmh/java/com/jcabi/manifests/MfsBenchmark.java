@@ -0,0 +1,169 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.manifests;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of each {@link Mfs}, appended to an empty map.
+ *
+ * @since 2.1.0
+ * @checkstyle DesignForExtensionCheck (500 lines)
+ * @checkstyle VisibilityModifierCheck (500 lines)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@SuppressWarnings("PMD")
+public class MfsBenchmark {
+
+    /**
+     * Number of manifests.
+     */
+    @Param({"10", "100", "1000"})
+    public int manifests;
+
+    /**
+     * The JARs.
+     */
+    private SyntheticJars classpath;
+
+    /**
+     * Class loader with all JARs.
+     */
+    private ClassLoader loader;
+
+    /**
+     * The JARs.
+     */
+    private Collection<File> jars;
+
+    /**
+     * Manifests in files.
+     */
+    private Collection<File> files;
+
+    /**
+     * All manifests in one string.
+     */
+    private String text;
+
+    /**
+     * Make JARs and files.
+     * @throws IOException If fails
+     */
+    @Setup
+    public void setup() throws IOException {
+        this.classpath = new SyntheticJars(this.manifests);
+        this.loader = this.classpath.loader();
+        this.jars = this.classpath.jars();
+        this.files = this.classpath.files();
+        final StringBuilder all = new StringBuilder(0);
+        for (final byte[] bytes : this.classpath.bytes()) {
+            all.append(
+                new String(bytes, StandardCharsets.UTF_8).replace("\r\n\r\n", "\r\n")
+            );
+        }
+        this.text = all.toString();
+    }
+
+    /**
+     * Delete JARs and files.
+     * @throws IOException If fails
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        this.classpath.delete();
+    }
+
+    /**
+     * Manifests in JARs in classpath.
+     * @return The map
+     * @throws IOException If fails
+     */
+    @Benchmark
+    public MfMap classpath() throws IOException {
+        return MfsBenchmark.load(new ClasspathMfs(this.loader));
+    }
+
+    /**
+     * Manifests in JARs, read through their central directories.
+     * @return The map
+     * @throws IOException If fails
+     */
+    @Benchmark
+    public MfMap jars() throws IOException {
+        return MfsBenchmark.load(new JarsMfs(this.jars));
+    }
+
+    /**
+     * Manifests in files.
+     * @return The map
+     * @throws IOException If fails
+     */
+    @Benchmark
+    public MfMap files() throws IOException {
+        return MfsBenchmark.load(new FilesMfs(this.files));
+    }
+
+    /**
+     * Manifests in memory.
+     * @return The map
+     * @throws IOException If fails
+     */
+    @Benchmark
+    public MfMap streams() throws IOException {
+        final Collection<InputStream> streams = new ArrayList<>(this.manifests);
+        for (final byte[] bytes : this.classpath.bytes()) {
+            streams.add(new ByteArrayInputStream(bytes));
+        }
+        return MfsBenchmark.load(new StreamsMfs(streams));
+    }
+
+    /**
+     * All attributes in one string.
+     * @return The map
+     * @throws IOException If fails
+     */
+    @Benchmark
+    public MfMap string() throws IOException {
+        return MfsBenchmark.load(new StringMfs(this.text));
+    }
+
+    /**
+     * Append to an empty map.
+     * @param mfs Manifests
+     * @return The map
+     * @throws IOException If fails
+     */
+    private static MfMap load(final Mfs mfs) throws IOException {
+        final MfMap map = new Manifests();
+        map.append(mfs);
+        return map;
+    }
+
+}
@@ -0,0 +1,152 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.manifests;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of reading attributes by many threads at the same time.
+ *
+ * @since 2.1.0
+ * @checkstyle DesignForExtensionCheck (500 lines)
+ * @checkstyle VisibilityModifierCheck (500 lines)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Threads(4)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@SuppressWarnings("PMD")
+public class ReadBenchmark {
+
+    /**
+     * Number of attributes in the map.
+     */
+    @Param({"10", "1000"})
+    public int attributes;
+
+    /**
+     * The map.
+     */
+    private MfMap map;
+
+    /**
+     * Fill the map and the singleton.
+     * @throws IOException If fails
+     */
+    @Setup
+    public void setup() throws IOException {
+        final Map<String, String> attrs = new HashMap<>(this.attributes);
+        final StringBuilder text = new StringBuilder(0);
+        for (int idx = 0; idx < this.attributes; ++idx) {
+            attrs.put(String.format("Bench-Key-%d", idx), "value");
+            attrs.put(String.format("Bench-Version-%d", idx), "1.2.3-SNAPSHOT");
+            text.append(String.format("Bench-Key-%d: value\n", idx));
+        }
+        this.map = new Manifests(attrs);
+        Manifests.singleton().append(new StringMfs(text.toString()));
+    }
+
+    /**
+     * Read an existing attribute from the singleton.
+     * @return Value
+     */
+    @Benchmark
+    public String read() {
+        return Manifests.read("Bench-Key-0");
+    }
+
+    /**
+     * Check an existing attribute in the singleton.
+     * @return TRUE
+     */
+    @Benchmark
+    public boolean exists() {
+        return Manifests.exists("Bench-Key-0");
+    }
+
+    /**
+     * Check an absent attribute in the singleton.
+     * @return FALSE
+     */
+    @Benchmark
+    public boolean absent() {
+        return Manifests.exists("Absent-Key");
+    }
+
+    /**
+     * Read an absent attribute from the singleton, with a default value.
+     * @return The default value
+     */
+    @Benchmark
+    public String fallback() {
+        return Manifests.read("Absent-Key", "default");
+    }
+
+    /**
+     * Read an existing attribute from the map.
+     * @return Value
+     */
+    @Benchmark
+    public String get() {
+        return this.map.get("Bench-Key-0");
+    }
+
+    /**
+     * Read an existing attribute from the map, as a version.
+     * @return Version
+     */
+    @Benchmark
+    public MfVersion getVersion() {
+        return this.map.getVersion("Bench-Version-0");
+    }
+
+    /**
+     * Read attributes by prefix from the map, ignoring case.
+     * @return Attributes found
+     */
+    @Benchmark
+    public SortedMap<String, String> getPrefixed() {
+        return this.map.getPrefixed("bench-version-99");
+    }
+
+    /**
+     * Get the entire map.
+     * @return Map
+     */
+    @Benchmark
+    public Map<String, String> getAsMap() {
+        return this.map.getAsMap();
+    }
+
+    /**
+     * Get all names.
+     * @return Names
+     */
+    @Benchmark
+    public Set<String> keySet() {
+        return this.map.keySet();
+    }
+
+}
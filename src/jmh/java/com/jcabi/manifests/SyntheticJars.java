@@ -0,0 +1,156 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.manifests;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.jar.Attributes;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+/**
+ * Synthetic classpath of JARs, for benchmarks.
+ *
+ * <p>Every JAR has the same common attributes, as if they all were
+ * built by the same Maven, and a few unique ones.
+ *
+ * @since 2.1.0
+ */
+final class SyntheticJars {
+
+    /**
+     * Directory with JARs.
+     */
+    private final transient Path dir;
+
+    /**
+     * Manifests, in their binary form.
+     */
+    private final transient List<byte[]> manifests;
+
+    /**
+     * Ctor.
+     * @param total How many JARs to make
+     * @throws IOException If fails
+     */
+    SyntheticJars(final int total) throws IOException {
+        this.dir = Files.createTempDirectory("jcabi-manifests");
+        this.manifests = new ArrayList<>(total);
+        for (int idx = 0; idx < total; ++idx) {
+            final Manifest manifest = SyntheticJars.manifest(idx);
+            try (OutputStream jar = new JarOutputStream(
+                Files.newOutputStream(this.jar(idx).toPath()), manifest
+            )) {
+                jar.flush();
+            }
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            manifest.write(bytes);
+            this.manifests.add(bytes.toByteArray());
+        }
+    }
+
+    /**
+     * Class loader with all JARs in its classpath.
+     * @return Class loader
+     * @throws IOException If fails
+     */
+    public ClassLoader loader() throws IOException {
+        final URL[] urls = new URL[this.manifests.size()];
+        for (int idx = 0; idx < urls.length; ++idx) {
+            urls[idx] = this.jar(idx).toURI().toURL();
+        }
+        return new URLClassLoader(urls, null);
+    }
+
+    /**
+     * The JARs.
+     * @return Files
+     */
+    public Collection<File> jars() {
+        final Collection<File> jars = new ArrayList<>(this.manifests.size());
+        for (int idx = 0; idx < this.manifests.size(); ++idx) {
+            jars.add(this.jar(idx));
+        }
+        return jars;
+    }
+
+    /**
+     * Manifests, extracted from JARs into files.
+     * @return Files
+     * @throws IOException If fails
+     */
+    public Collection<File> files() throws IOException {
+        final Collection<File> files = new ArrayList<>(this.manifests.size());
+        for (int idx = 0; idx < this.manifests.size(); ++idx) {
+            final File file = this.dir.resolve(
+                String.format("MANIFEST-%d.MF", idx)
+            ).toFile();
+            if (!file.exists()) {
+                Files.write(file.toPath(), this.manifests.get(idx));
+            }
+            files.add(file);
+        }
+        return files;
+    }
+
+    /**
+     * Manifests in their binary form.
+     * @return Bytes of each of them
+     */
+    public List<byte[]> bytes() {
+        return this.manifests;
+    }
+
+    /**
+     * Delete everything.
+     * @throws IOException If fails
+     */
+    public void delete() throws IOException {
+        final File[] files = this.dir.toFile().listFiles();
+        if (files != null) {
+            for (final File file : files) {
+                Files.delete(file.toPath());
+            }
+        }
+        Files.delete(this.dir);
+    }
+
+    /**
+     * JAR file.
+     * @param idx Its number
+     * @return File
+     */
+    private File jar(final int idx) {
+        return this.dir.resolve(String.format("lib-%d.jar", idx)).toFile();
+    }
+
+    /**
+     * Make a manifest.
+     * @param idx Number of the JAR
+     * @return Manifest
+     */
+    private static Manifest manifest(final int idx) {
+        final Manifest manifest = new Manifest();
+        final Attributes main = manifest.getMainAttributes();
+        main.put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        main.putValue("Created-By", "Apache Maven 3.9.9");
+        main.putValue("Built-By", "jenkins");
+        main.putValue("Build-Jdk-Spec", "17");
+        main.putValue("Implementation-Title", String.format("lib-%d", idx));
+        main.putValue("Implementation-Version", String.format("1.%d", idx));
+        main.putValue(String.format("Lib-%d-Key", idx), "unique value");
+        return manifest;
+    }
+
+}
@@ -0,0 +1,489 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.manifests;
+
+import com.jcabi.log.Logger;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Append of manifests, which doesn't block the caller.
+ *
+ * <p>All I/O, including {@link Mfs#sources()}, and parsing run on the
+ * executor. The future completes with the map when the manifests are
+ * appended:
+ *
+ * <pre> new AsyncAppend(executor, 2L, TimeUnit.SECONDS)
+ *   .append(Manifests.singleton(), new ServletMfs(context))
+ *   .thenAccept(map -&gt; ready());</pre>
+ *
+ * <p>No more sources are read at the same time than the limit, which
+ * is the number of processors by default. If the timeout is set, each
+ * source has that much time to be opened and read, since the moment the
+ * executor starts reading it. A source which is late is closed, skipped
+ * with a warning and doesn't stall others, but the next source is
+ * started only when the late one gives its thread back. If the future
+ * is cancelled, all sources being read are closed and nothing is
+ * appended.
+ *
+ * <p>Each source is parsed right from its stream by {@link Manifests},
+ * the same way {@link Manifests#append(Mfs)} does it, with the named
+ * sections it keeps. A source, which fails, is skipped, unless all of
+ * them fail, then the future completes exceptionally. Attributes, not
+ * the bytes of the sources, are kept in memory until all sources are
+ * read, and then merged at once, so that the map changes atomically.
+ *
+ * <p>Maps, which are not {@link Manifests} and don't keep their
+ * attributes in one, are appended to by their own
+ * {@link MfMap#append(Mfs)}, on the executor, without the limit and
+ * the timeout.
+ *
+ * <p>The class is immutable and thread-safe.
+ *
+ * @since 2.1.0
+ */
+public final class AsyncAppend {
+
+    /**
+     * Timer of sources, which are late.
+     */
+    private static final ScheduledExecutorService TIMER = AsyncAppend.timer();
+
+    /**
+     * Executor to read and parse with.
+     */
+    private final transient Executor executor;
+
+    /**
+     * Time each source has, in milliseconds, or zero if unlimited.
+     */
+    private final transient long timeout;
+
+    /**
+     * Maximum number of sources read at the same time.
+     */
+    private final transient int limit;
+
+    /**
+     * Ctor.
+     * @param exec Executor to read and parse with
+     */
+    public AsyncAppend(final Executor exec) {
+        this(exec, 0L, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Ctor.
+     * @param exec Executor to read and parse with
+     * @param time Time each source has, zero if unlimited
+     * @param unit Unit of time
+     */
+    public AsyncAppend(final Executor exec, final long time, final TimeUnit unit) {
+        this(exec, time, unit, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Ctor.
+     * @param exec Executor to read and parse with
+     * @param time Time each source has, zero if unlimited
+     * @param unit Unit of time
+     * @param max Maximum number of sources read at the same time
+     */
+    public AsyncAppend(final Executor exec, final long time, final TimeUnit unit,
+        final int max) {
+        if (time < 0L) {
+            throw new IllegalArgumentException(
+                Logger.format("timeout can't be negative: %d", time)
+            );
+        }
+        if (max < 1) {
+            throw new IllegalArgumentException(
+                Logger.format("limit must be positive: %d", max)
+            );
+        }
+        this.executor = exec;
+        this.timeout = unit.toMillis(time);
+        this.limit = max;
+    }
+
+    /**
+     * Append manifests to the map.
+     * @param map The map to append to
+     * @param mfs Manifests to append
+     * @return The map, when manifests are appended
+     */
+    public CompletableFuture<MfMap> append(final MfMap map, final Mfs mfs) {
+        final CompletableFuture<MfMap> result = new CompletableFuture<>();
+        final List<AsyncAppend.Reading> readings = new ArrayList<>(0);
+        result.whenComplete(
+            (done, error) -> {
+                if (result.isCancelled()) {
+                    synchronized (readings) {
+                        readings.forEach(AsyncAppend.Reading::stop);
+                    }
+                }
+            }
+        );
+        CompletableFuture.supplyAsync(() -> AsyncAppend.chain(map), this.executor)
+            .thenCompose(
+                chain -> {
+                    final MfMap target = chain.get(chain.size() - 1);
+                    final CompletableFuture<Void> merged;
+                    if (target instanceof Manifests) {
+                        merged = this.read((Manifests) target, mfs, readings, result);
+                    } else {
+                        merged = CompletableFuture.runAsync(
+                            () -> {
+                                try {
+                                    target.append(mfs);
+                                } catch (final IOException ex) {
+                                    throw new CompletionException(ex);
+                                }
+                            },
+                            this.executor
+                        );
+                    }
+                    return merged.thenRun(
+                        () -> {
+                            for (int idx = chain.size() - 2; idx >= 0; --idx) {
+                                ((AsyncAppend.Target) chain.get(idx)).appended();
+                            }
+                            result.complete(map);
+                        }
+                    );
+                }
+            )
+            .whenComplete(
+                (done, error) -> {
+                    if (error != null) {
+                        result.completeExceptionally(error);
+                        synchronized (readings) {
+                            readings.forEach(AsyncAppend.Reading::stop);
+                        }
+                    }
+                }
+            );
+        return result;
+    }
+
+    /**
+     * Read all sources and merge them into the map.
+     * @param target The map to merge into
+     * @param mfs Manifests to read
+     * @param readings All readings, to add new ones to
+     * @param result The result of the append
+     * @return Completed when merged, or when the append is over anyway
+     */
+    private CompletableFuture<Void> read(final Manifests target, final Mfs mfs,
+        final List<AsyncAppend.Reading> readings,
+        final CompletableFuture<MfMap> result) {
+        final long start = System.nanoTime();
+        final Collection<Mfs.Source> sources;
+        try {
+            sources = target.sources(mfs);
+        } catch (final IOException ex) {
+            throw new CompletionException(ex);
+        }
+        final ConcurrentMap<ByteBuffer, Map<String, String>> seen =
+            new ConcurrentHashMap<>(0);
+        synchronized (readings) {
+            for (final Mfs.Source source : sources) {
+                readings.add(new AsyncAppend.Reading(target, source, seen));
+            }
+            if (result.isCancelled()) {
+                readings.forEach(AsyncAppend.Reading::stop);
+            }
+        }
+        final CompletableFuture<?>[] futures = new CompletableFuture<?>[readings.size()];
+        for (int idx = 0; idx < futures.length; ++idx) {
+            futures[idx] = readings.get(idx).result;
+        }
+        final AtomicInteger next = new AtomicInteger();
+        for (int idx = Math.min(this.limit, futures.length); idx > 0; --idx) {
+            this.proceed(readings, next);
+        }
+        return CompletableFuture.allOf(futures).thenRunAsync(
+            () -> {
+                if (!result.isDone()) {
+                    final List<Map.Entry<String, Map<String, Map<String, String>>>>
+                        loaded = new ArrayList<>(readings.size());
+                    IOException error = null;
+                    for (final AsyncAppend.Reading reading : readings) {
+                        final Map.Entry<String, Map<String, Map<String, String>>> one =
+                            reading.result.join();
+                        if (one != null) {
+                            loaded.add(one);
+                        }
+                        if (error == null) {
+                            error = reading.failure.get();
+                        }
+                    }
+                    if (loaded.isEmpty() && error != null) {
+                        throw new CompletionException(error);
+                    }
+                    target.absorb(loaded, start);
+                }
+            },
+            this.executor
+        );
+    }
+
+    /**
+     * Start the next reading, which is not skipped yet, and the one after
+     * it, when the thread of the first one is free again.
+     * @param readings All readings
+     * @param next Position of the next reading to start
+     */
+    private void proceed(final List<AsyncAppend.Reading> readings,
+        final AtomicInteger next) {
+        int idx = next.getAndIncrement();
+        while (idx < readings.size() && readings.get(idx).result.isDone()) {
+            idx = next.getAndIncrement();
+        }
+        if (idx < readings.size()) {
+            readings.get(idx).start().whenComplete(
+                (nothing, error) -> this.proceed(readings, next)
+            );
+        }
+    }
+
+    /**
+     * Maps to go through, to reach the one, which keeps attributes.
+     * @param map The map to start from
+     * @return The map itself, the maps it keeps attributes in, if any,
+     *  and so on
+     */
+    private static List<MfMap> chain(final MfMap map) {
+        final List<MfMap> chain = new ArrayList<>(1);
+        MfMap target = map;
+        chain.add(target);
+        while (target instanceof AsyncAppend.Target) {
+            target = ((AsyncAppend.Target) target).target();
+            chain.add(target);
+        }
+        return chain;
+    }
+
+    /**
+     * Make the timer.
+     * @return The timer, with one daemon thread
+     */
+    private static ScheduledExecutorService timer() {
+        final ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(
+            1,
+            runnable -> {
+                final Thread thread = new Thread(
+                    runnable, AsyncAppend.class.getSimpleName()
+                );
+                thread.setDaemon(true);
+                return thread;
+            }
+        );
+        timer.setRemoveOnCancelPolicy(true);
+        return timer;
+    }
+
+    /**
+     * Map, which keeps its attributes in another map, and lets
+     * {@link AsyncAppend} append to that map directly.
+     *
+     * @since 2.1.0
+     */
+    interface Target {
+
+        /**
+         * Get ready for an append.
+         * @return The map to append to
+         */
+        MfMap target();
+
+        /**
+         * Learn that manifests were appended to the map, returned by
+         * {@link #target()}.
+         */
+        default void appended() {
+            // nothing to do by default
+        }
+    }
+
+    /**
+     * Reading and parsing of one source.
+     *
+     * @since 2.1.0
+     */
+    private final class Reading {
+
+        /**
+         * The map to parse for.
+         */
+        private final Manifests map;
+
+        /**
+         * The source.
+         */
+        private final Mfs.Source source;
+
+        /**
+         * Main sections parsed already, by their bytes.
+         */
+        private final ConcurrentMap<ByteBuffer, Map<String, String>> seen;
+
+        /**
+         * Name and attributes of the source, or NULL if it's skipped.
+         */
+        private final CompletableFuture<Map.Entry<String, Map<String, Map<String, String>>>>
+            result;
+
+        /**
+         * Completed when the thread is done with the source.
+         */
+        private final CompletableFuture<Void> finished;
+
+        /**
+         * The error, if the source failed, NULL otherwise.
+         */
+        private final AtomicReference<IOException> failure;
+
+        /**
+         * The stream being read, NULL if not open yet.
+         */
+        private final AtomicReference<InputStream> stream;
+
+        /**
+         * Ctor.
+         * @param target The map to parse for
+         * @param src The source
+         * @param parsed Main sections parsed already, by their bytes
+         */
+        Reading(final Manifests target, final Mfs.Source src,
+            final ConcurrentMap<ByteBuffer, Map<String, String>> parsed) {
+            this.map = target;
+            this.source = src;
+            this.seen = parsed;
+            this.result = new CompletableFuture<>();
+            this.finished = new CompletableFuture<>();
+            this.failure = new AtomicReference<>();
+            this.stream = new AtomicReference<>();
+        }
+
+        /**
+         * Start reading on the executor.
+         * @return Completed when the thread is done with the source, even
+         *  if it's skipped earlier
+         */
+        CompletableFuture<Void> start() {
+            AsyncAppend.this.executor.execute(this::read);
+            return this.finished;
+        }
+
+        /**
+         * Skip the source and close its stream, if it's being read.
+         */
+        void stop() {
+            if (this.result.complete(null)) {
+                this.close();
+            }
+        }
+
+        /**
+         * Read the source, unless it's skipped already.
+         */
+        private void read() {
+            try {
+                if (!this.result.isDone()) {
+                    this.load();
+                }
+            } finally {
+                this.finished.complete(null);
+            }
+        }
+
+        /**
+         * Read the source, until it's read or skipped.
+         */
+        private void load() {
+            ScheduledFuture<?> timer = null;
+            if (AsyncAppend.this.timeout > 0L) {
+                timer = AsyncAppend.TIMER.schedule(
+                    this::expire, AsyncAppend.this.timeout, TimeUnit.MILLISECONDS
+                );
+            }
+            try {
+                this.result.complete(this.map.load(this::open, this.seen));
+            } catch (final IOException ex) {
+                if (!this.result.isDone()) {
+                    this.failure.set(ex);
+                }
+                this.result.complete(null);
+            } finally {
+                if (timer != null) {
+                    timer.cancel(false);
+                }
+            }
+        }
+
+        /**
+         * Open the source and remember its stream, to close it if it's
+         * skipped.
+         * @return The stream
+         * @throws IOException If fails
+         */
+        private InputStream open() throws IOException {
+            final InputStream input = this.source.open();
+            this.stream.set(input);
+            if (this.result.isDone()) {
+                this.close();
+            }
+            return input;
+        }
+
+        /**
+         * Skip the source, since it's late.
+         */
+        private void expire() {
+            if (this.result.complete(null)) {
+                Logger.warn(
+                    AsyncAppend.this,
+                    "#append(): source %s is not read in %[ms]s, skipped",
+                    this.stream.get(), AsyncAppend.this.timeout
+                );
+                this.close();
+            }
+        }
+
+        /**
+         * Close the stream, if it's open, to unblock reading.
+         */
+        private void close() {
+            final InputStream input = this.stream.get();
+            if (input != null) {
+                try {
+                    input.close();
+                } catch (final IOException ex) {
+                    Logger.debug(
+                        AsyncAppend.this, "#close(): %[exception]s", ex
+                    );
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,262 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.manifests;
+
+import com.jcabi.log.Logger;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Manifests, which are read no further than their budgets.
+ *
+ * <p>Each stream is read no further than its own budget and all of them
+ * together no further than the total budget of one append. A stream,
+ * which doesn't fit, is truncated after its last named section which
+ * fits. If even its main section doesn't fit, the stream is skipped
+ * entirely, since its attributes would be incomplete. Streams, which
+ * are left when the total budget is spent, are skipped without opening.
+ * Skipped streams are logged and counted, and so are truncated ones, if
+ * named sections are parsed. Otherwise, nothing is lost when named
+ * sections are cut off, since only the main one is parsed. The listener,
+ * if it's given, is told about them too:
+ *
+ * <pre> BoundedMfs mfs = new BoundedMfs(new JarsMfs(), 64L &lt;&lt; 10, 8L &lt;&lt; 20);
+ * Manifests.singleton().append(mfs);
+ * if (mfs.skipped() &gt; 0) {
+ *   // some manifests are too big
+ * }</pre>
+ *
+ * <p>A stream is read into memory, no further than its budget, before
+ * it's parsed. The origin should not read the entire manifest into
+ * memory either, as {@link JarsMfs} and {@link ClasspathMfs} don't.
+ *
+ * <p>The class is thread-safe.
+ *
+ * @since 2.1.0
+ */
+public final class BoundedMfs implements Mfs {
+
+    /**
+     * The origin.
+     */
+    private final transient Mfs origin;
+
+    /**
+     * Budget of one stream, in bytes.
+     */
+    private final transient long single;
+
+    /**
+     * Budget of all streams of one append, in bytes.
+     */
+    private final transient long total;
+
+    /**
+     * Named sections are parsed.
+     */
+    private final transient boolean whole;
+
+    /**
+     * Listener to tell about streams skipped and truncated.
+     */
+    private final transient MfListener listener;
+
+    /**
+     * Number of streams skipped.
+     */
+    private final transient AtomicInteger skips;
+
+    /**
+     * Number of streams truncated.
+     */
+    private final transient AtomicInteger cuts;
+
+    /**
+     * Ctor.
+     * @param mfs The origin
+     * @param stream Budget of one stream, in bytes
+     * @param all Budget of all streams of one append, in bytes
+     */
+    public BoundedMfs(final Mfs mfs, final long stream, final long all) {
+        this(mfs, stream, all, false, MfListener.NONE);
+    }
+
+    /**
+     * Ctor.
+     * @param mfs The origin
+     * @param stream Budget of one stream, in bytes
+     * @param all Budget of all streams of one append, in bytes
+     * @param sections Named sections are parsed, see {@link Manifests}
+     * @param lstnr Listener to tell about streams skipped and truncated
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    public BoundedMfs(final Mfs mfs, final long stream, final long all,
+        final boolean sections, final MfListener lstnr) {
+        if (stream < 1L || all < 1L) {
+            throw new IllegalArgumentException(
+                Logger.format(
+                    "budgets must be positive: %d and %d", stream, all
+                )
+            );
+        }
+        this.origin = mfs;
+        this.single = stream;
+        this.total = all;
+        this.whole = sections;
+        this.listener = lstnr;
+        this.skips = new AtomicInteger();
+        this.cuts = new AtomicInteger();
+    }
+
+    @Override
+    public Collection<InputStream> fetch() throws IOException {
+        return new SourcesMfs(this.sources()).fetch();
+    }
+
+    @Override
+    public Collection<Mfs.Source> sources() throws IOException {
+        final Collection<Mfs.Source> sources = this.origin.sources();
+        final Collection<Mfs.Source> bounded = new ArrayList<>(sources.size());
+        final AtomicLong left = new AtomicLong(this.total);
+        for (final Mfs.Source source : sources) {
+            bounded.add(() -> this.open(source, left));
+        }
+        return bounded;
+    }
+
+    /**
+     * How many streams were skipped, since they didn't fit.
+     * @return Number of streams
+     */
+    public int skipped() {
+        return this.skips.get();
+    }
+
+    /**
+     * How many streams were truncated, since their named sections
+     * didn't fit, if named sections are parsed.
+     * @return Number of streams
+     */
+    public int truncated() {
+        return this.cuts.get();
+    }
+
+    /**
+     * Read the stream into memory, no further than the budget.
+     * @param source The source of the stream
+     * @param left Budget left of all streams
+     * @return The stream, maybe truncated or empty
+     * @throws IOException If fails
+     */
+    private InputStream open(final Mfs.Source source, final AtomicLong left)
+        throws IOException {
+        final long budget = BoundedMfs.take(left, this.single);
+        InputStream result = new ByteArrayInputStream(new byte[0]);
+        if (budget == 0L) {
+            this.skips.incrementAndGet();
+            this.listener.skipped(0L);
+            Logger.warn(
+                this, "#open(): %d bytes of all streams are read, one more skipped",
+                this.total
+            );
+        } else {
+            try (InputStream input = source.open()) {
+                final ByteArrayOutputStream out = new ByteArrayOutputStream();
+                final byte[] buf = new byte[(int) Math.min(budget + 1L, 1L << 13)];
+                while (out.size() <= budget) {
+                    final int read = input.read(
+                        buf, 0, (int) Math.min(buf.length, budget + 1L - out.size())
+                    );
+                    if (read < 0) {
+                        break;
+                    }
+                    out.write(buf, 0, read);
+                }
+                final byte[] data = out.toByteArray();
+                int used = data.length;
+                if (data.length > budget) {
+                    used = BoundedMfs.blocks(data, (int) budget);
+                    if (used < 0) {
+                        used = 0;
+                        this.skips.incrementAndGet();
+                        this.listener.skipped(budget);
+                        Logger.warn(
+                            this, "#open(): main section of %s is over %d bytes, skipped",
+                            input, budget
+                        );
+                    } else if (this.whole) {
+                        this.cuts.incrementAndGet();
+                        this.listener.truncated(budget, used);
+                        Logger.warn(
+                            this, "#open(): %s is over %d bytes, truncated to %d",
+                            input, budget, used
+                        );
+                    }
+                }
+                left.addAndGet(budget - Math.min(data.length, budget));
+                result = new ByteArrayInputStream(data, 0, used);
+                if (input instanceof NamedStream) {
+                    result = new NamedStream(((NamedStream) input).name(), result);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Take a budget of one stream from the budget left.
+     * @param left Budget left of all streams
+     * @param max Budget of one stream
+     * @return Budget taken, zero if nothing is left
+     */
+    private static long take(final AtomicLong left, final long max) {
+        long taken = -1L;
+        while (taken < 0L) {
+            final long before = left.get();
+            final long after = Math.max(0L, before - max);
+            if (left.compareAndSet(before, after)) {
+                taken = before - after;
+            }
+        }
+        return taken;
+    }
+
+    /**
+     * Find the end of the last complete section, main or named, which
+     * is the end of an empty line.
+     * @param data The manifest
+     * @param len How many bytes of it to look at
+     * @return Position after the empty line, or -1 if there is none
+     */
+    private static int blocks(final byte[] data, final int len) {
+        int last = -1;
+        int start = 0;
+        int pos = 0;
+        while (pos < len) {
+            final byte chr = data[pos];
+            if (chr == '\n' || chr == '\r') {
+                int next = pos + 1;
+                if (chr == '\r' && next < len && data[next] == '\n') {
+                    ++next;
+                }
+                if (pos == start && start > 0) {
+                    last = next;
+                }
+                start = next;
+                pos = next;
+            } else {
+                ++pos;
+            }
+        }
+        return last;
+    }
+
+}
@@ -0,0 +1,543 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.manifests;
+
+import com.jcabi.log.Logger;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Manifests cached in a file, until the classpath changes.
+ *
+ * <p>The first time the map is asked for an attribute, it checks the
+ * index file. If the file was made for exactly the same manifests (the
+ * same {@code META-INF/MANIFEST.MF} resources of the class loader, in
+ * the same order, in files with the same sizes and modification times),
+ * attributes are taken from it and the origin map is never touched.
+ * Otherwise, all attributes are loaded from the origin and saved to the
+ * file, for the next start of the JVM:
+ *
+ * <pre> ClassLoader loader = Thread.currentThread().getContextClassLoader();
+ * MfMap map = new CachedManifests(
+ *   new LazyManifests(new Manifests(), loader),
+ *   new File("/tmp/manifests.idx"),
+ *   loader,
+ *   Manifests::new
+ * );</pre>
+ *
+ * <p>The class loader must be the one the origin reads manifests from,
+ * in order to notice when they change. It's referred to weakly, so
+ * that the map doesn't keep it alive. When attributes are taken from
+ * the file, they are given to the factory, which should make the map
+ * configured exactly as the origin, since more manifests may be appended
+ * to it later.
+ *
+ * <p>The file keeps neither sources of attributes nor named sections,
+ * so {@link #origins(String)} and {@link #section(String)} return
+ * nothing when attributes are taken from the file.
+ *
+ * <p>The singleton {@link Manifests} is cached this way if the
+ * {@code com.jcabi.manifests.cache} system property contains a path
+ * of the index file, unless it's asked to keep sources of attributes
+ * or named sections.
+ *
+ * <p>The file is binary: magic number, format version, SHA-256 of
+ * the classpath fingerprint, number of attributes, and then names and
+ * values in UTF-8, each prefixed with its length. It is
+ * memory-mapped when read.
+ *
+ * <p>The class is thread-safe.
+ *
+ * @since 2.1.0
+ */
+public final class CachedManifests implements MfMap, AsyncAppend.Target {
+
+    /**
+     * Magic number in front of the file, "MFIX".
+     */
+    private static final int MAGIC = 0x4d464958;
+
+    /**
+     * Version of the file format.
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * The origin, to load attributes from when the cache is stale.
+     */
+    private final transient MfMap origin;
+
+    /**
+     * The index file.
+     */
+    private final transient Path file;
+
+    /**
+     * Manifests the origin reads, to check for changes.
+     */
+    private final transient CachedManifests.Urls manifests;
+
+    /**
+     * Factory of the map of attributes taken from the file.
+     */
+    private final transient Function<Map<String, String>, MfMap> factory;
+
+    /**
+     * The map in use, NULL until the first request.
+     */
+    private final transient AtomicReference<MfMap> active;
+
+    /**
+     * Ctor.
+     * @param map The origin, reading manifests of the context class loader
+     * @param idx The index file
+     */
+    public CachedManifests(final MfMap map, final File idx) {
+        this(
+            map, idx, Thread.currentThread().getContextClassLoader(),
+            Manifests::new
+        );
+    }
+
+    /**
+     * Ctor.
+     * @param map The origin
+     * @param idx The index file
+     * @param files Files in the classpath, JARs or directories, which
+     *  the origin reads manifests of
+     */
+    public CachedManifests(final MfMap map, final File idx,
+        final Collection<File> files) {
+        this(map, idx, CachedManifests.urls(files), Manifests::new);
+    }
+
+    /**
+     * Ctor.
+     * @param map The origin
+     * @param idx The index file
+     * @param ldr Class loader, which the origin reads manifests of
+     * @param make Factory of the map of attributes taken from the file
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    public CachedManifests(final MfMap map, final File idx,
+        final ClassLoader ldr, final Function<Map<String, String>, MfMap> make) {
+        this(map, idx, CachedManifests.urls(new WeakReference<>(ldr)), make);
+    }
+
+    /**
+     * Ctor.
+     * @param map The origin
+     * @param idx The index file
+     * @param urls Manifests, which the origin reads
+     * @param make Factory of the map of attributes taken from the file
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    private CachedManifests(final MfMap map, final File idx,
+        final CachedManifests.Urls urls,
+        final Function<Map<String, String>, MfMap> make) {
+        this.origin = map;
+        this.file = idx.toPath();
+        this.manifests = urls;
+        this.factory = make;
+        this.active = new AtomicReference<>();
+    }
+
+    @Override
+    public int size() {
+        return this.map().size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.map().isEmpty();
+    }
+
+    @Override
+    public boolean containsKey(final String key) {
+        return this.map().containsKey(key);
+    }
+
+    @Override
+    public boolean containsValue(final String value) {
+        return this.map().containsValue(value);
+    }
+
+    @Override
+    public String get(final String key) {
+        return this.map().get(key);
+    }
+
+    @Override
+    public <T> T get(final String key, final Function<String, T> parser) {
+        return this.map().get(key, parser);
+    }
+
+    @Override
+    public String getIgnoreCase(final String key) {
+        return this.map().getIgnoreCase(key);
+    }
+
+    @Override
+    public Map<String, String> getAll(final String... keys) {
+        return this.map().getAll(keys);
+    }
+
+    @Override
+    public SortedMap<String, String> getPrefixed(final String prefix) {
+        return this.map().getPrefixed(prefix);
+    }
+
+    @Override
+    public Map<String, String> getAsMap() {
+        return this.map().getAsMap();
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return this.map().keySet();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The index file doesn't keep sources of attributes, so there
+     * are none if the attributes were taken from the file.
+     */
+    @Override
+    public List<Map.Entry<String, String>> origins(final String key) {
+        return this.map().origins(key);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The index file doesn't keep named sections, so there are none
+     * if the attributes were taken from the file.
+     */
+    @Override
+    public Map<String, String> section(final String name) {
+        return this.map().section(name);
+    }
+
+    @Override
+    public void append(final Mfs mfs) throws IOException {
+        this.map().append(mfs);
+    }
+
+    @Override
+    public MfMap target() {
+        return this.map();
+    }
+
+    /**
+     * Get the map to use, loading it if necessary.
+     * @return The map
+     */
+    private MfMap map() {
+        MfMap map = this.active.get();
+        if (map == null) {
+            synchronized (this.active) {
+                map = this.active.get();
+                if (map == null) {
+                    map = this.load();
+                    this.active.set(map);
+                }
+            }
+        }
+        return map;
+    }
+
+    /**
+     * Load the map from the file or from the origin.
+     * @return The map
+     */
+    private MfMap load() {
+        final long start = System.currentTimeMillis();
+        MfMap map;
+        try {
+            final byte[] print = this.fingerprint();
+            final Map<String, String> attrs = this.read(print);
+            if (attrs == null) {
+                map = this.origin;
+                this.write(print, map.getAsMap());
+                Logger.debug(
+                    this, "%d attribute(s) saved to %s in %[ms]s",
+                    map.size(), this.file, System.currentTimeMillis() - start
+                );
+            } else {
+                map = this.factory.apply(attrs);
+                Logger.debug(
+                    this, "%d attribute(s) loaded from %s in %[ms]s",
+                    map.size(), this.file, System.currentTimeMillis() - start
+                );
+            }
+        } catch (final IOException ex) {
+            Logger.warn(
+                this, "#load(): failed to use %s %[exception]s",
+                this.file, ex
+            );
+            map = this.origin;
+        }
+        return map;
+    }
+
+    /**
+     * Read attributes from the file.
+     * @param print Expected fingerprint of the classpath
+     * @return Attributes or NULL if the file is absent or stale
+     * @throws IOException If fails
+     */
+    @SuppressWarnings("PMD.ReturnEmptyCollectionRatherThanNull")
+    private Map<String, String> read(final byte[] print) throws IOException {
+        Map<String, String> attrs = null;
+        if (Files.exists(this.file)) {
+            try (FileChannel channel = FileChannel.open(this.file)) {
+                final ByteBuffer buf = channel.map(
+                    FileChannel.MapMode.READ_ONLY, 0L, channel.size()
+                );
+                if (buf.getInt() == CachedManifests.MAGIC
+                    && buf.getInt() == CachedManifests.VERSION
+                    && Arrays.equals(CachedManifests.bytes(buf), print)) {
+                    final int total = buf.getInt();
+                    final Map<String, String> found = new HashMap<>(0);
+                    for (int idx = 0; idx < total; ++idx) {
+                        found.put(
+                            CachedManifests.text(buf),
+                            CachedManifests.text(buf)
+                        );
+                    }
+                    attrs = found;
+                }
+            } catch (final BufferUnderflowException
+                | IllegalArgumentException ex) {
+                Logger.warn(
+                    this, "#read(): %s is broken, ignoring it", this.file
+                );
+            }
+        }
+        return attrs;
+    }
+
+    /**
+     * Write attributes to the file, atomically.
+     * @param print Fingerprint of the classpath
+     * @param attrs Attributes
+     * @throws IOException If fails
+     */
+    private void write(final byte[] print, final Map<String, String> attrs)
+        throws IOException {
+        final Path dir = this.file.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        final Path temp = Files.createTempFile(dir, "manifests", ".tmp");
+        try (DataOutputStream out = new DataOutputStream(
+            new BufferedOutputStream(
+                Files.newOutputStream(temp, StandardOpenOption.WRITE)
+            )
+        )) {
+            out.writeInt(CachedManifests.MAGIC);
+            out.writeInt(CachedManifests.VERSION);
+            out.writeInt(print.length);
+            out.write(print);
+            out.writeInt(attrs.size());
+            for (final Map.Entry<String, String> attr : attrs.entrySet()) {
+                CachedManifests.text(out, attr.getKey());
+                CachedManifests.text(out, attr.getValue());
+            }
+        }
+        try {
+            Files.move(
+                temp, this.file,
+                StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE
+            );
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Calculate the fingerprint of manifests, which the origin reads.
+     * @return SHA-256 of all their URLs, sizes and modification times
+     * @throws IOException If fails
+     */
+    private byte[] fingerprint() throws IOException {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+        for (final URL url : this.manifests.get()) {
+            digest.update(CachedManifests.stamp(url).getBytes(StandardCharsets.UTF_8));
+        }
+        return digest.digest();
+    }
+
+    /**
+     * Stamp of the manifest, which changes when the manifest changes.
+     *
+     * <p>If the manifest is in a file, or in a JAR in a file, maybe
+     * nested into other JARs, the size and the modification time of
+     * the file are taken. Otherwise, the URL connection is asked
+     * for them.
+     *
+     * @param url URL of the manifest
+     * @return URL, size and modification time
+     * @throws IOException If fails
+     */
+    private static String stamp(final URL url) throws IOException {
+        String outer = url.toString();
+        while (outer.startsWith("jar:")) {
+            final int bang = outer.indexOf("!/");
+            if (bang < 0) {
+                outer = outer.substring(4);
+            } else {
+                outer = outer.substring(4, bang);
+            }
+        }
+        final long size;
+        final long modified;
+        if (outer.startsWith("file:")) {
+            final File file;
+            try {
+                file = new File(new URI(outer));
+            } catch (final URISyntaxException | IllegalArgumentException ex) {
+                throw new IOException(ex);
+            }
+            size = file.length();
+            modified = file.lastModified();
+        } else {
+            final URLConnection conn = url.openConnection();
+            size = conn.getContentLengthLong();
+            modified = conn.getLastModified();
+        }
+        return Logger.format("%s:%d:%d\n", url, size, modified);
+    }
+
+    /**
+     * Read length-prefixed bytes.
+     * @param buf The buffer to read from
+     * @return Bytes
+     */
+    private static byte[] bytes(final ByteBuffer buf) {
+        final int len = buf.getInt();
+        if (len < 0 || len > buf.remaining()) {
+            throw new IllegalArgumentException("broken length");
+        }
+        final byte[] bytes = new byte[len];
+        buf.get(bytes);
+        return bytes;
+    }
+
+    /**
+     * Read length-prefixed UTF-8 text.
+     * @param buf The buffer to read from
+     * @return Text
+     */
+    private static String text(final ByteBuffer buf) {
+        return new String(CachedManifests.bytes(buf), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Write length-prefixed UTF-8 text.
+     * @param out Where to write
+     * @param text The text
+     * @throws IOException If fails
+     */
+    private static void text(final DataOutputStream out, final String text)
+        throws IOException {
+        final byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Manifests of the class loader, while it's alive.
+     * @param ldr The class loader
+     * @return Its manifests, or none if it's collected already
+     */
+    private static CachedManifests.Urls urls(final WeakReference<ClassLoader> ldr) {
+        return () -> {
+            final ClassLoader loader = ldr.get();
+            final Collection<URL> urls;
+            if (loader == null) {
+                urls = Collections.emptyList();
+            } else {
+                urls = IndexMfs.manifests(loader, IndexMfs.enabled());
+            }
+            return urls;
+        };
+    }
+
+    /**
+     * Manifests of the files in the classpath.
+     * @param files JARs or directories
+     * @return Their manifests
+     */
+    private static CachedManifests.Urls urls(final Collection<File> files) {
+        final Collection<File> list = new ArrayList<>(files);
+        return () -> {
+            final Collection<URL> urls = new ArrayList<>(list.size());
+            for (final File entry : list) {
+                if (entry.isDirectory()) {
+                    urls.add(new File(entry, "META-INF/MANIFEST.MF").toURI().toURL());
+                } else {
+                    urls.add(
+                        new URL(
+                            String.format(
+                                "jar:%s!/META-INF/MANIFEST.MF", entry.toURI()
+                            )
+                        )
+                    );
+                }
+            }
+            return urls;
+        };
+    }
+
+    /**
+     * Manifests, which the origin reads.
+     *
+     * @since 2.1.0
+     */
+    @FunctionalInterface
+    private interface Urls {
+        /**
+         * Find them.
+         * @return URLs of manifests, in order
+         * @throws IOException If fails
+         */
+        Collection<URL> get() throws IOException;
+    }
+
+}
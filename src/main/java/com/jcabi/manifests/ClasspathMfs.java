@@ -18,16 +18,42 @@ import java.util.Enumeration;
  */
 public final class ClasspathMfs implements Mfs {
 
+    /**
+     * Class loader to find manifests in.
+     */
+    private final transient ClassLoader loader;
+
+    /**
+     * Ctor.
+     */
+    public ClasspathMfs() {
+        this(Thread.currentThread().getContextClassLoader());
+    }
+
+    /**
+     * Ctor.
+     * @param ldr Class loader to find manifests in
+     * @since 2.1.0
+     */
+    public ClasspathMfs(final ClassLoader ldr) {
+        this.loader = ldr;
+    }
+
     @Override
     public Collection<InputStream> fetch() throws IOException {
-        final Enumeration<URL> resources = Thread.currentThread()
-            .getContextClassLoader()
-            .getResources("META-INF/MANIFEST.MF");
-        final Collection<InputStream> streams = new ArrayList<>(1);
+        return new SourcesMfs(this.sources()).fetch();
+    }
+
+    @Override
+    public Collection<Mfs.Source> sources() throws IOException {
+        final Enumeration<URL> resources =
+            this.loader.getResources("META-INF/MANIFEST.MF");
+        final Collection<Mfs.Source> sources = new ArrayList<>(1);
         while (resources.hasMoreElements()) {
-            streams.add(resources.nextElement().openStream());
+            final URL url = resources.nextElement();
+            sources.add(() -> new NamedStream(url.toString(), url.openStream()));
         }
-        return streams;
+        return sources;
     }
 
 }
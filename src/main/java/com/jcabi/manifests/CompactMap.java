@@ -0,0 +1,261 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.manifests;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Immutable map of attributes in one flat array.
+ *
+ * <p>Keys and values are kept next to each other in one array with
+ * open addressing and linear probing, at most half full. There are no
+ * nodes per entry, as in {@link java.util.HashMap}, which matters when
+ * the map is copied on every append and thousands of them are kept for
+ * named sections. Keys and values are interned by {@link StringPool}.
+ *
+ * <p>Names of attributes are case-insensitive in JAR manifests, while
+ * the map is not. In order to find keys ignoring case, or by prefix,
+ * the map sorts its keys ignoring case on the first such lookup and
+ * keeps them sorted, since the map never changes. Then a lookup is
+ * a binary search and a scan by prefix takes time proportional to the
+ * number of keys found.
+ *
+ * <p>Keys must not be NULL. All methods which modify the map throw
+ * {@link UnsupportedOperationException}.
+ *
+ * @since 2.1.0
+ */
+final class CompactMap extends AbstractMap<String, String> {
+
+    /**
+     * Order of sorted keys: ignoring case first, then exact.
+     */
+    private static final Comparator<String> ORDER =
+        String.CASE_INSENSITIVE_ORDER.thenComparing(Comparator.naturalOrder());
+
+    /**
+     * Keys at even positions, their values at odd ones, NULL keys in
+     * empty slots.
+     */
+    private final String[] table;
+
+    /**
+     * Number of entries.
+     */
+    private final int count;
+
+    /**
+     * Keys sorted ignoring case, NULL until they are needed.
+     */
+    private volatile String[] sorted;
+
+    /**
+     * Ctor.
+     * @param map Attributes to keep
+     * @param pool Pool to intern keys and values with
+     */
+    CompactMap(final Map<String, String> map, final StringPool pool) {
+        super();
+        int slots = 2;
+        while (slots < map.size() * 2) {
+            slots <<= 1;
+        }
+        this.table = new String[slots * 2];
+        for (final Map.Entry<String, String> entry : map.entrySet()) {
+            final int pos = this.slot(entry.getKey());
+            this.table[pos] = pool.intern(entry.getKey());
+            this.table[pos + 1] = pool.intern(entry.getValue());
+        }
+        this.count = map.size();
+    }
+
+    @Override
+    public int size() {
+        return this.count;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return key != null && this.table[this.slot(key)] != null;
+    }
+
+    @Override
+    public String get(final Object key) {
+        String value = null;
+        if (key != null) {
+            value = this.table[this.slot(key) + 1];
+        }
+        return value;
+    }
+
+    @Override
+    public Set<Map.Entry<String, String>> entrySet() {
+        return new CompactMap.Entries();
+    }
+
+    /**
+     * Get value by the key, ignoring case.
+     * @param key The key
+     * @return Value of the key as it is, if it's here, or of the first
+     *  key equal to it ignoring case, or NULL if there is none
+     */
+    String ignoringCase(final String key) {
+        String value = this.get(key);
+        if (value == null) {
+            final String[] keys = this.index();
+            final int pos = CompactMap.lower(keys, key);
+            if (pos < keys.length && keys[pos].equalsIgnoreCase(key)) {
+                value = this.get(keys[pos]);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Get all entries, which keys start with the prefix, ignoring case.
+     * @param prefix The prefix
+     * @return Unmodifiable entries found, sorted by keys
+     */
+    SortedMap<String, String> prefixed(final String prefix) {
+        final String[] keys = this.index();
+        final SortedMap<String, String> found = new TreeMap<>();
+        int pos = CompactMap.lower(keys, prefix);
+        while (pos < keys.length
+            && keys[pos].regionMatches(true, 0, prefix, 0, prefix.length())) {
+            found.put(keys[pos], this.get(keys[pos]));
+            ++pos;
+        }
+        return Collections.unmodifiableSortedMap(found);
+    }
+
+    /**
+     * Keys sorted ignoring case, sorted on the first call.
+     *
+     * <p>Two threads may sort them at the same time, which is harmless,
+     * since they get the same array.
+     *
+     * @return Sorted keys
+     */
+    private String[] index() {
+        String[] keys = this.sorted;
+        if (keys == null) {
+            keys = new String[this.count];
+            int idx = 0;
+            for (int pos = 0; pos < this.table.length; pos += 2) {
+                if (this.table[pos] != null) {
+                    keys[idx] = this.table[pos];
+                    ++idx;
+                }
+            }
+            Arrays.sort(keys, CompactMap.ORDER);
+            this.sorted = keys;
+        }
+        return keys;
+    }
+
+    /**
+     * Position of the first key, which is not less than the given one,
+     * ignoring case.
+     * @param keys Sorted keys
+     * @param key The key
+     * @return Position, or the length of the array if there is none
+     */
+    private static int lower(final String[] keys, final String key) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            final int mid = low + high >>> 1;
+            if (String.CASE_INSENSITIVE_ORDER.compare(keys[mid], key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Position of the key in the table, or of the empty slot where
+     * it has to be.
+     * @param key The key
+     * @return Position of the key
+     */
+    private int slot(final Object key) {
+        final int mask = this.table.length / 2 - 1;
+        final int hash = key.hashCode();
+        int idx = (hash ^ hash >>> 16) & mask;
+        while (this.table[idx * 2] != null && !this.table[idx * 2].equals(key)) {
+            idx = idx + 1 & mask;
+        }
+        return idx * 2;
+    }
+
+    /**
+     * Entries of the map.
+     *
+     * @since 2.1.0
+     */
+    private final class Entries extends AbstractSet<Map.Entry<String, String>> {
+
+        @Override
+        public int size() {
+            return CompactMap.this.count;
+        }
+
+        @Override
+        public Iterator<Map.Entry<String, String>> iterator() {
+            return new Iterator<Map.Entry<String, String>>() {
+                /**
+                 * Position of the next key.
+                 */
+                private int pos = this.next(0);
+
+                @Override
+                public boolean hasNext() {
+                    return this.pos < CompactMap.this.table.length;
+                }
+
+                @Override
+                public Map.Entry<String, String> next() {
+                    if (!this.hasNext()) {
+                        throw new NoSuchElementException("no more entries");
+                    }
+                    final Map.Entry<String, String> entry =
+                        new AbstractMap.SimpleImmutableEntry<>(
+                            CompactMap.this.table[this.pos],
+                            CompactMap.this.table[this.pos + 1]
+                        );
+                    this.pos = this.next(this.pos + 2);
+                    return entry;
+                }
+
+                /**
+                 * Position of the first key at or after the position.
+                 * @param start Where to start
+                 * @return Position of the key, or the length of the table
+                 */
+                private int next(final int start) {
+                    int idx = start;
+                    while (idx < CompactMap.this.table.length
+                        && CompactMap.this.table[idx] == null) {
+                        idx += 2;
+                    }
+                    return idx;
+                }
+            };
+        }
+    }
+
+}
@@ -0,0 +1,78 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.manifests;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Converters of attribute values, used by typed accessors of {@link MfMap}.
+ *
+ * <p>They are constants, so that {@link Manifests} can keep values
+ * converted by them, and only by them: a converter given by the caller
+ * may be a new lambda on every call, which would never be found again
+ * and would keep classes of the caller in memory.
+ *
+ * @since 2.1.0
+ */
+final class Conversions {
+
+    /**
+     * To a number.
+     */
+    static final Function<String, Integer> INT = Integer::valueOf;
+
+    /**
+     * To an instant.
+     */
+    static final Function<String, Instant> INSTANT = Instant::parse;
+
+    /**
+     * To a version.
+     */
+    static final Function<String, MfVersion> VERSION = MfVersion::new;
+
+    /**
+     * To a list of comma-separated values, trimmed, without empty ones.
+     */
+    static final Function<String, List<String>> LIST = Conversions::list;
+
+    /**
+     * Utility class.
+     */
+    private Conversions() {
+        // intentionally empty
+    }
+
+    /**
+     * Is it one of these converters?
+     * @param parser The converter
+     * @return TRUE if it is
+     */
+    static boolean known(final Function<String, ?> parser) {
+        return parser == Conversions.INT || parser == Conversions.INSTANT
+            || parser == Conversions.VERSION || parser == Conversions.LIST;
+    }
+
+    /**
+     * Split the value by commas.
+     * @param value The value
+     * @return Unmodifiable list
+     */
+    private static List<String> list(final String value) {
+        final List<String> items = new ArrayList<>(0);
+        for (final String item : value.split(",")) {
+            final String trimmed = item.trim();
+            if (!trimmed.isEmpty()) {
+                items.add(trimmed);
+            }
+        }
+        return Collections.unmodifiableList(items);
+    }
+
+}
@@ -47,11 +47,20 @@ public final class FilesMfs implements Mfs {
 
     @Override
     public Collection<InputStream> fetch() throws IOException {
-        final Collection<InputStream> streams = new ArrayList<>(1);
+        return new SourcesMfs(this.sources()).fetch();
+    }
+
+    @Override
+    public Collection<Mfs.Source> sources() {
+        final Collection<Mfs.Source> sources = new ArrayList<>(this.files.size());
         for (final File file : this.files) {
-            streams.add(file.toURI().toURL().openStream());
+            sources.add(
+                () -> new NamedStream(
+                    file.toString(), file.toURI().toURL().openStream()
+                )
+            );
         }
-        return streams;
+        return sources;
     }
 
 }
@@ -0,0 +1,296 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.manifests;
+
+import com.jcabi.log.Logger;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Manifests on HTTP servers, cached on disk.
+ *
+ * <p>Each manifest is downloaded into the cache directory once. Next
+ * time, the server is asked whether it changed, with
+ * {@code If-None-Match} and {@code If-Modified-Since}, and if it
+ * responds with 304, the manifest is read from the cache, without
+ * downloading it again:
+ *
+ * <pre> Manifests.singleton().append(
+ *   new HttpMfs(
+ *     Arrays.asList(new URL("https://repo.example.com/app/MANIFEST.MF")),
+ *     new File("/var/cache/manifests")
+ *   )
+ * );</pre>
+ *
+ * <p>If the server can't be reached, or doesn't respond in time, the
+ * manifest is read from the cache with a warning, if it's there.
+ * Otherwise, it fails, and {@link Manifests} skips it, unless all
+ * manifests of the append fail. Other URLs, for example {@code file:},
+ * are read as they are, without the cache.
+ *
+ * <p>Each manifest is fetched when it's about to be parsed, so they are
+ * fetched in parallel if the map parses with a few threads, see
+ * {@link Manifests}, or if they are appended by {@link AsyncAppend}.
+ * Connections are not closed after fetching, so that
+ * {@link HttpURLConnection} can reuse them for other manifests on the
+ * same server.
+ *
+ * <p>The class is immutable and thread-safe.
+ *
+ * @since 2.1.0
+ */
+public final class HttpMfs implements Mfs {
+
+    /**
+     * URLs of manifests.
+     */
+    private final transient Collection<URL> urls;
+
+    /**
+     * Cache directory.
+     */
+    private final transient File dir;
+
+    /**
+     * Time to connect and to wait for data, in milliseconds.
+     */
+    private final transient int timeout;
+
+    /**
+     * Ctor.
+     * @param list URLs of manifests
+     * @param cache Cache directory
+     */
+    public HttpMfs(final Collection<URL> list, final File cache) {
+        this(list, cache, 10L, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Ctor.
+     * @param list URLs of manifests
+     * @param cache Cache directory
+     * @param time Time to connect and to wait for data, each
+     * @param unit Unit of time
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    public HttpMfs(final Collection<URL> list, final File cache,
+        final long time, final TimeUnit unit) {
+        if (time < 1L) {
+            throw new IllegalArgumentException(
+                Logger.format("timeout must be positive: %d", time)
+            );
+        }
+        this.urls = Collections.unmodifiableCollection(new ArrayList<>(list));
+        this.dir = cache;
+        this.timeout = (int) Math.min(unit.toMillis(time), Integer.MAX_VALUE);
+    }
+
+    @Override
+    public Collection<InputStream> fetch() throws IOException {
+        return new SourcesMfs(this.sources()).fetch();
+    }
+
+    @Override
+    public Collection<Mfs.Source> sources() {
+        final Collection<Mfs.Source> sources = new ArrayList<>(this.urls.size());
+        for (final URL url : this.urls) {
+            sources.add(() -> new NamedStream(url.toString(), this.open(url)));
+        }
+        return sources;
+    }
+
+    /**
+     * Fetch the manifest, or take it from the cache.
+     * @param url URL of the manifest
+     * @return The manifest
+     * @throws IOException If fails
+     */
+    private InputStream open(final URL url) throws IOException {
+        final URLConnection conn = url.openConnection();
+        conn.setConnectTimeout(this.timeout);
+        conn.setReadTimeout(this.timeout);
+        final InputStream stream;
+        if (conn instanceof HttpURLConnection) {
+            final String name = HttpMfs.name(url);
+            final Path body = this.dir.toPath().resolve(
+                String.format("%s.MF", name)
+            );
+            final Path head = this.dir.toPath().resolve(
+                String.format("%s.head", name)
+            );
+            try {
+                this.revalidate((HttpURLConnection) conn, body, head);
+            } catch (final IOException ex) {
+                if (!Files.exists(body)) {
+                    throw ex;
+                }
+                Logger.warn(
+                    this, "#open(): can't fetch %s, cached copy is used: %s",
+                    url, ex.getMessage()
+                );
+            }
+            stream = Files.newInputStream(body);
+        } else {
+            stream = conn.getInputStream();
+        }
+        return stream;
+    }
+
+    /**
+     * Make sure the cached manifest is fresh, downloading it if it's not.
+     * @param conn Connection, not connected yet
+     * @param body Cached manifest
+     * @param head Validators of the cached manifest
+     * @throws IOException If fails
+     */
+    private void revalidate(final HttpURLConnection conn, final Path body,
+        final Path head) throws IOException {
+        if (Files.exists(body) && Files.exists(head)) {
+            final List<String> lines = Files.readAllLines(head, StandardCharsets.UTF_8);
+            if (lines.size() == 2) {
+                HttpMfs.header(conn, "If-None-Match", lines.get(0));
+                HttpMfs.header(conn, "If-Modified-Since", lines.get(1));
+            }
+        }
+        final int code = conn.getResponseCode();
+        if (code == HttpURLConnection.HTTP_OK) {
+            Files.createDirectories(this.dir.toPath());
+            try (InputStream input = conn.getInputStream()) {
+                HttpMfs.save(input, body);
+            }
+            final String etag = conn.getHeaderField("ETag");
+            final String modified = conn.getHeaderField("Last-Modified");
+            HttpMfs.save(
+                new ByteArrayInputStream(
+                    String.format(
+                        "%s\n%s\n", HttpMfs.text(etag), HttpMfs.text(modified)
+                    ).getBytes(StandardCharsets.UTF_8)
+                ),
+                head
+            );
+        } else {
+            HttpMfs.drain(conn, code);
+            if (code != HttpURLConnection.HTTP_NOT_MODIFIED || !Files.exists(body)) {
+                throw new IOException(
+                    Logger.format(
+                        "%s responded with %d %s", conn.getURL(), code,
+                        conn.getResponseMessage()
+                    )
+                );
+            }
+        }
+    }
+
+    /**
+     * Read the rest of the response, so that the connection may be
+     * reused.
+     * @param conn The connection
+     * @param code Response code
+     * @throws IOException If fails
+     */
+    private static void drain(final HttpURLConnection conn, final int code)
+        throws IOException {
+        final InputStream rest;
+        if (code >= HttpURLConnection.HTTP_BAD_REQUEST) {
+            rest = conn.getErrorStream();
+        } else {
+            rest = conn.getInputStream();
+        }
+        if (rest != null) {
+            try (InputStream input = rest) {
+                final byte[] buf = new byte[1024];
+                int read = 0;
+                while (read >= 0) {
+                    read = input.read(buf);
+                }
+            }
+        }
+    }
+
+    /**
+     * Set the header, if it's not empty.
+     * @param conn The connection
+     * @param name Name of the header
+     * @param value Value of the header, maybe empty
+     */
+    private static void header(final HttpURLConnection conn, final String name,
+        final String value) {
+        if (!value.isEmpty()) {
+            conn.setRequestProperty(name, value);
+        }
+    }
+
+    /**
+     * Value of a response header, empty if there is none.
+     * @param value The value or NULL
+     * @return The value, without line breaks
+     */
+    private static String text(final String value) {
+        String text = "";
+        if (value != null) {
+            text = value.replaceAll("[\r\n]", "");
+        }
+        return text;
+    }
+
+    /**
+     * Save the stream to the file, atomically.
+     * @param input The stream
+     * @param file The file
+     * @throws IOException If fails
+     */
+    private static void save(final InputStream input, final Path file)
+        throws IOException {
+        final Path temp = Files.createTempFile(file.getParent(), "manifest", ".tmp");
+        try {
+            Files.copy(input, temp, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(
+                temp, file,
+                StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE
+            );
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Name of the cached manifest.
+     * @param url URL of the manifest
+     * @return SHA-256 of the URL, in hex
+     */
+    private static String name(final URL url) {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+        final StringBuilder hex = new StringBuilder(64);
+        for (final byte chr : digest.digest(
+            url.toString().getBytes(StandardCharsets.UTF_8)
+        )) {
+            hex.append(String.format("%02x", chr));
+        }
+        return hex.toString();
+    }
+
+}
@@ -0,0 +1,194 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.manifests;
+
+import com.jcabi.log.Logger;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.Attributes;
+import java.util.jar.Manifest;
+
+/**
+ * Manifests collected at build time into a single resource.
+ *
+ * <p>Instead of reading all {@code META-INF/MANIFEST.MF} files
+ * available in classpath, this class reads just one resource,
+ * {@code META-INF/jcabi-manifests.idx}, which contains main attributes
+ * of all of them, already merged. This is much faster and also works
+ * in environments where the classpath can't be scanned, for
+ * example in GraalVM native images:
+ *
+ * <pre> MfMap map = new Manifests();
+ * map.append(new IndexMfs());</pre>
+ *
+ * <p>{@link Manifests#singleton()}, {@link LazyManifests} and
+ * {@link CachedManifests} also read the resource on their own, if the
+ * {@code com.jcabi.manifests.index} system property is {@code true}.
+ * They read it in front of all {@code MANIFEST.MF} files, not instead
+ * of them, since the index doesn't have attributes of the application
+ * itself and may come from a JAR of somebody else. The attributes of
+ * the index win, and an attribute it doesn't have is found in the
+ * manifests, which are read only if it's asked for, see
+ * {@link LazyManifests}. The resource is supposed to be in the JAR of
+ * the application, since the first one found is used.
+ *
+ * <p>If the resource is absent, all manifests in classpath are read,
+ * exactly as {@link ClasspathMfs} does.
+ *
+ * <p>The resource is a regular {@code MANIFEST.MF} file. It is generated
+ * by the {@link #main(String...)} method of this class, which reads all
+ * manifests available in classpath and saves their attributes to the
+ * file provided. This is how it may be called from Maven, right before
+ * the JAR is packaged:
+ *
+ * <pre> &lt;plugin>
+ *  &lt;groupId>org.codehaus.mojo&lt;/groupId>
+ *  &lt;artifactId>exec-maven-plugin&lt;/artifactId>
+ *  &lt;executions>
+ *   &lt;execution>
+ *    &lt;phase>prepare-package&lt;/phase>
+ *    &lt;goals>
+ *     &lt;goal>java&lt;/goal>
+ *    &lt;/goals>
+ *    &lt;configuration>
+ *     &lt;mainClass>com.jcabi.manifests.IndexMfs&lt;/mainClass>
+ *     &lt;arguments>
+ *      &lt;argument>${project.build.outputDirectory}/META-INF/jcabi-manifests.idx&lt;/argument>
+ *     &lt;/arguments>
+ *    &lt;/configuration>
+ *   &lt;/execution>
+ *  &lt;/executions>
+ * &lt;/plugin></pre>
+ *
+ * <p>Keep in mind that the {@code MANIFEST.MF} of the JAR being built
+ * doesn't exist yet at that moment, so its attributes are not in the
+ * index.
+ *
+ * <p>The class is immutable and thread-safe.
+ *
+ * @since 2.1.0
+ */
+public final class IndexMfs implements Mfs {
+
+    /**
+     * Name of the resource.
+     */
+    public static final String RESOURCE = "META-INF/jcabi-manifests.idx";
+
+    /**
+     * Class loader to find the resource in.
+     */
+    private final transient ClassLoader loader;
+
+    /**
+     * Ctor.
+     */
+    public IndexMfs() {
+        this(Thread.currentThread().getContextClassLoader());
+    }
+
+    /**
+     * Ctor.
+     * @param ldr Class loader to find the resource in
+     */
+    public IndexMfs(final ClassLoader ldr) {
+        this.loader = ldr;
+    }
+
+    /**
+     * Read all manifests from classpath and save them to the index.
+     * @param args The path of the index file to create
+     * @throws IOException If fails
+     */
+    @SuppressWarnings("PMD.ProhibitPublicStaticMethods")
+    public static void main(final String... args) throws IOException {
+        if (args.length != 1) {
+            throw new IllegalArgumentException(
+                "exactly one argument expected: path of the index file"
+            );
+        }
+        final MfMap map = new Manifests();
+        map.append(new ClasspathMfs());
+        final Manifest manifest = new Manifest();
+        final Attributes attrs = manifest.getMainAttributes();
+        attrs.put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        for (final Map.Entry<String, String> attr : map.getAsMap().entrySet()) {
+            attrs.putValue(attr.getKey(), attr.getValue());
+        }
+        final File file = new File(args[0]);
+        Files.createDirectories(file.getAbsoluteFile().getParentFile().toPath());
+        try (OutputStream output = Files.newOutputStream(file.toPath())) {
+            manifest.write(output);
+        }
+        Logger.info(
+            IndexMfs.class, "%d attribute(s) saved to %s",
+            attrs.size(), file
+        );
+    }
+
+    /**
+     * The index is wanted in front of manifests, by the
+     * {@code com.jcabi.manifests.index} system property.
+     * @return TRUE if it's wanted
+     */
+    static boolean enabled() {
+        return Boolean.getBoolean("com.jcabi.manifests.index");
+    }
+
+    /**
+     * Manifests to read from the class loader: all {@code MANIFEST.MF}
+     * files, with the index in front of them, if it's wanted and there.
+     * @param ldr Class loader to find them in
+     * @param indexed Read the index, if it's there
+     * @return URLs of them, a copy, which doesn't refer to the class
+     *  loader
+     * @throws IOException If fails
+     */
+    static List<URL> manifests(final ClassLoader ldr, final boolean indexed)
+        throws IOException {
+        final List<URL> urls = new ArrayList<>(0);
+        if (indexed) {
+            final URL url = ldr.getResource(IndexMfs.RESOURCE);
+            if (url != null) {
+                urls.add(url);
+            }
+        }
+        urls.addAll(Collections.list(ldr.getResources("META-INF/MANIFEST.MF")));
+        return urls;
+    }
+
+    @Override
+    public Collection<InputStream> fetch() throws IOException {
+        return new SourcesMfs(this.sources()).fetch();
+    }
+
+    @Override
+    public Collection<Mfs.Source> sources() throws IOException {
+        final URL url = this.loader.getResource(IndexMfs.RESOURCE);
+        final Collection<Mfs.Source> sources;
+        if (url == null) {
+            Logger.debug(
+                this, "%s not found, reading all manifests in classpath",
+                IndexMfs.RESOURCE
+            );
+            sources = new ClasspathMfs(this.loader).sources();
+        } else {
+            sources = Collections.singleton(
+                () -> new NamedStream(url.toString(), url.openStream())
+            );
+        }
+        return sources;
+    }
+
+}
@@ -4,12 +4,9 @@
  */
 package com.jcabi.manifests;
 
-import com.jcabi.log.Logger;
 import jakarta.servlet.ServletContext;
 import java.io.IOException;
 import java.io.InputStream;
-import java.net.URL;
-import java.util.ArrayList;
 import java.util.Collection;
 
 /**
@@ -24,6 +21,12 @@ import java.util.Collection;
  *
  * <pre> Manifests.append(new JakartaServletMfs(context));</pre>
  *
+ * <p>Manifests of libraries in {@code /WEB-INF/lib/} may be read too,
+ * without scanning all libraries of the server, as the class loader
+ * of the container would do for {@link ClasspathMfs}:
+ *
+ * <pre> Manifests.singleton().append(new JakartaServletMfs(context, true));</pre>
+ *
  * <p>The class is thread-safe.
  *
  * @since 1.0
@@ -31,28 +34,39 @@ import java.util.Collection;
 public final class JakartaServletMfs implements Mfs {
 
     /**
-     * Servlet context.
+     * Manifests of the web application.
      */
-    private final transient ServletContext ctx;
+    private final transient Mfs origin;
 
     /**
      * Ctor.
      * @param context Context
      */
     public JakartaServletMfs(final ServletContext context) {
-        this.ctx = context;
+        this(context, false);
+    }
+
+    /**
+     * Ctor.
+     * @param context Context
+     * @param libs Read manifests of {@code /WEB-INF/lib/*.jar} too
+     * @since 2.1.0
+     */
+    public JakartaServletMfs(final ServletContext context, final boolean libs) {
+        this.origin = new WebAppMfs(
+            context::getResource, context::getResourcePaths,
+            context::getRealPath, libs
+        );
     }
 
     @Override
     public Collection<InputStream> fetch() throws IOException {
-        final URL main = this.ctx.getResource("/META-INF/MANIFEST.MF");
-        final Collection<InputStream> streams = new ArrayList<>(1);
-        if (main == null) {
-            Logger.warn(this, "MANIFEST.MF not found in WAR package");
-        } else {
-            streams.add(main.openStream());
-        }
-        return streams;
+        return this.origin.fetch();
+    }
+
+    @Override
+    public Collection<Mfs.Source> sources() throws IOException {
+        return this.origin.sources();
     }
 
 }
@@ -0,0 +1,472 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.manifests;
+
+import com.jcabi.log.Logger;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * {@code META-INF/MANIFEST.MF} of one JAR, read through its central
+ * directory.
+ *
+ * <p>The end of the central directory is found at the end of the file,
+ * then the central directory is read in blocks until the manifest entry
+ * is met, which is usually one of the first ones, and then only this
+ * entry is read and inflated, as much as the reader of
+ * {@link #stream()} asks for. Since the parser stops at the end of
+ * the main section, a huge manifest with an entry per class is not
+ * inflated entirely. The file is closed when the stream is closed.
+ * JARs in ZIP64 format are read by {@link ZipFile}.
+ *
+ * @since 2.1.0
+ */
+final class JarManifest {
+
+    /**
+     * Name of the entry.
+     */
+    private static final byte[] NAME =
+        "META-INF/MANIFEST.MF".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * Signature of the end of the central directory.
+     */
+    private static final int END = 0x06054b50;
+
+    /**
+     * Signature of an entry of the central directory.
+     */
+    private static final int ENTRY = 0x02014b50;
+
+    /**
+     * Signature of a local file header.
+     */
+    private static final int LOCAL = 0x04034b50;
+
+    /**
+     * Size of the end of the central directory, without comment.
+     */
+    private static final int END_SIZE = 22;
+
+    /**
+     * Size of an entry of the central directory, without variable fields.
+     */
+    private static final int ENTRY_SIZE = 46;
+
+    /**
+     * Size of a local file header, without variable fields.
+     */
+    private static final int LOCAL_SIZE = 30;
+
+    /**
+     * Marker of a value, which is kept in ZIP64 extra field.
+     */
+    private static final long ZIP64 = 0xffffffffL;
+
+    /**
+     * Size of a block of the central directory to read at once.
+     */
+    private static final int BLOCK = 1 << 14;
+
+    /**
+     * The JAR.
+     */
+    private final transient File file;
+
+    /**
+     * Ctor.
+     * @param jar The JAR
+     */
+    JarManifest(final File jar) {
+        this.file = jar;
+    }
+
+    /**
+     * Read the manifest into memory.
+     * @return Its content, empty if there is no manifest
+     * @throws IOException If fails or the file is not a ZIP archive
+     */
+    public byte[] bytes() throws IOException {
+        try (InputStream input = this.stream()) {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final byte[] buf = new byte[JarManifest.BLOCK];
+            int len = input.read(buf);
+            while (len >= 0) {
+                out.write(buf, 0, len);
+                len = input.read(buf);
+            }
+            return out.toByteArray();
+        }
+    }
+
+    /**
+     * Open the manifest, which is read and inflated only when
+     * the stream is read.
+     * @return Its content, empty if there is no manifest, must be closed
+     * @throws IOException If fails or the file is not a ZIP archive
+     */
+    public InputStream stream() throws IOException {
+        final FileChannel channel = FileChannel.open(
+            this.file.toPath(), StandardOpenOption.READ
+        );
+        InputStream stream = null;
+        try {
+            final ByteBuffer end = this.end(channel);
+            final long size = end.getInt(12) & JarManifest.ZIP64;
+            final long offset = end.getInt(16) & JarManifest.ZIP64;
+            if (offset == JarManifest.ZIP64 || size == JarManifest.ZIP64) {
+                stream = this.zip();
+            } else {
+                stream = this.entry(channel, offset, size);
+            }
+        } finally {
+            if (!(stream instanceof JarManifest.Slice)
+                && !(stream instanceof JarManifest.Inflated)) {
+                channel.close();
+            }
+        }
+        return stream;
+    }
+
+    /**
+     * Find the end of the central directory.
+     *
+     * <p>Usually there is no comment in the end of a JAR, so the last
+     * bytes of the file are read first. Only if they don't have the
+     * signature, the comment is looked for.
+     *
+     * @param channel The file
+     * @return The end of the central directory, starting at position zero
+     * @throws IOException If not found
+     */
+    private ByteBuffer end(final FileChannel channel) throws IOException {
+        final long size = channel.size();
+        if (size < JarManifest.END_SIZE) {
+            throw new IOException(
+                Logger.format("%s is not a ZIP archive", this.file)
+            );
+        }
+        ByteBuffer buf = JarManifest.read(
+            channel, size - JarManifest.END_SIZE, JarManifest.END_SIZE
+        );
+        if (buf.getInt(0) != JarManifest.END) {
+            final int tail = (int) Math.min(
+                size, JarManifest.END_SIZE + 0xffff
+            );
+            final ByteBuffer all = JarManifest.read(channel, size - tail, tail);
+            int pos = tail - JarManifest.END_SIZE;
+            while (pos >= 0 && (all.getInt(pos) != JarManifest.END
+                || (all.getShort(pos + 20) & 0xffff)
+                != tail - pos - JarManifest.END_SIZE)) {
+                --pos;
+            }
+            if (pos < 0) {
+                throw new IOException(
+                    Logger.format(
+                        "%s is not a ZIP archive, no central directory",
+                        this.file
+                    )
+                );
+            }
+            all.position(pos);
+            buf = all.slice().order(ByteOrder.LITTLE_ENDIAN);
+        }
+        return buf;
+    }
+
+    /**
+     * Find the manifest in the central directory and read it.
+     * @param channel The file
+     * @param offset Position of the central directory
+     * @param size Size of the central directory
+     * @return Content of the manifest, empty if it's absent
+     * @throws IOException If fails
+     */
+    private InputStream entry(final FileChannel channel, final long offset,
+        final long size) throws IOException {
+        int block = (int) Math.min(size, JarManifest.BLOCK);
+        long pos = offset;
+        final long last = offset + size;
+        InputStream stream = new ByteArrayInputStream(new byte[0]);
+        while (pos < last) {
+            final ByteBuffer buf = JarManifest.read(
+                channel, pos, (int) Math.min(block, last - pos)
+            );
+            int idx = 0;
+            int found = -1;
+            while (found < 0 && idx + JarManifest.ENTRY_SIZE <= buf.limit()) {
+                if (buf.getInt(idx) != JarManifest.ENTRY) {
+                    throw new IOException(
+                        Logger.format(
+                            "broken central directory in %s at %d",
+                            this.file, pos + idx
+                        )
+                    );
+                }
+                final int name = buf.getShort(idx + 28) & 0xffff;
+                if (idx + JarManifest.ENTRY_SIZE + name > buf.limit()) {
+                    break;
+                }
+                if (JarManifest.matches(buf, idx + JarManifest.ENTRY_SIZE, name)) {
+                    found = idx;
+                } else {
+                    idx += JarManifest.ENTRY_SIZE + name
+                        + (buf.getShort(idx + 30) & 0xffff)
+                        + (buf.getShort(idx + 32) & 0xffff);
+                }
+            }
+            if (found >= 0) {
+                stream = this.data(channel, buf, found);
+                break;
+            }
+            if (idx == 0) {
+                if (block >= last - pos) {
+                    throw new IOException(
+                        Logger.format(
+                            "truncated central directory in %s at %d",
+                            this.file, pos
+                        )
+                    );
+                }
+                block <<= 1;
+            }
+            pos += idx;
+        }
+        return stream;
+    }
+
+    /**
+     * Open the data of the entry.
+     * @param channel The file
+     * @param dir The central directory
+     * @param idx Position of the entry in it
+     * @return Uncompressed data
+     * @throws IOException If fails
+     */
+    private InputStream data(final FileChannel channel, final ByteBuffer dir,
+        final int idx) throws IOException {
+        final int method = dir.getShort(idx + 10) & 0xffff;
+        final long packed = dir.getInt(idx + 20) & JarManifest.ZIP64;
+        final long size = dir.getInt(idx + 24) & JarManifest.ZIP64;
+        final long local = dir.getInt(idx + 42) & JarManifest.ZIP64;
+        final InputStream stream;
+        if (packed == JarManifest.ZIP64 || size == JarManifest.ZIP64
+            || local == JarManifest.ZIP64
+            || method != ZipEntry.STORED && method != ZipEntry.DEFLATED) {
+            stream = this.zip();
+        } else {
+            final ByteBuffer head = JarManifest.read(
+                channel, local, JarManifest.LOCAL_SIZE
+            );
+            if (head.getInt(0) != JarManifest.LOCAL) {
+                throw new IOException(
+                    Logger.format(
+                        "broken local header of the manifest in %s", this.file
+                    )
+                );
+            }
+            final JarManifest.Slice data = new JarManifest.Slice(
+                channel,
+                local + JarManifest.LOCAL_SIZE
+                    + (head.getShort(26) & 0xffff) + (head.getShort(28) & 0xffff),
+                packed
+            );
+            if (method == ZipEntry.STORED) {
+                stream = data;
+            } else {
+                stream = new JarManifest.Inflated(
+                    data, (int) Math.min(packed + 1L, JarManifest.BLOCK)
+                );
+            }
+        }
+        return stream;
+    }
+
+    /**
+     * Open the manifest by {@link ZipFile}, which is closed when
+     * the stream is closed.
+     * @return Content of the manifest, empty if it's absent
+     * @throws IOException If fails
+     */
+    private InputStream zip() throws IOException {
+        final ZipFile zip = new ZipFile(this.file);
+        final ZipEntry entry = zip.getEntry("META-INF/MANIFEST.MF");
+        final InputStream stream;
+        if (entry == null) {
+            zip.close();
+            stream = new ByteArrayInputStream(new byte[0]);
+        } else {
+            stream = new FilterInputStream(zip.getInputStream(entry)) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        zip.close();
+                    }
+                }
+            };
+        }
+        return stream;
+    }
+
+    /**
+     * The name of the entry is the name of the manifest, in any case.
+     * @param buf Buffer with the name
+     * @param idx Position of the name
+     * @param len Length of the name
+     * @return TRUE if it is
+     */
+    private static boolean matches(final ByteBuffer buf, final int idx,
+        final int len) {
+        boolean same = len == JarManifest.NAME.length;
+        for (int pos = 0; same && pos < len; ++pos) {
+            final int chr = buf.get(idx + pos);
+            same = chr == JarManifest.NAME[pos]
+                || chr >= 'a' && chr <= 'z' && chr - 32 == JarManifest.NAME[pos];
+        }
+        return same;
+    }
+
+    /**
+     * Read bytes from the file.
+     * @param channel The file
+     * @param position Where to start
+     * @param len How many bytes to read
+     * @return Buffer with them, little-endian
+     * @throws IOException If the file is shorter
+     */
+    private static ByteBuffer read(final FileChannel channel,
+        final long position, final int len) throws IOException {
+        final ByteBuffer buf = ByteBuffer.allocate(len)
+            .order(ByteOrder.LITTLE_ENDIAN);
+        long pos = position;
+        while (buf.hasRemaining()) {
+            final int read = channel.read(buf, pos);
+            if (read < 0) {
+                throw new EOFException(
+                    Logger.format("unexpected end of file at %d", pos)
+                );
+            }
+            pos += read;
+        }
+        buf.flip();
+        return buf;
+    }
+
+    /**
+     * Part of the file, which closes the file when closed.
+     *
+     * @since 2.1.0
+     */
+    private static final class Slice extends InputStream {
+
+        /**
+         * The file.
+         */
+        private final FileChannel channel;
+
+        /**
+         * The end of the part.
+         */
+        private final long end;
+
+        /**
+         * Position of the next byte.
+         */
+        private long pos;
+
+        /**
+         * Ctor.
+         * @param chnl The file
+         * @param start Where the part starts
+         * @param len Length of the part
+         */
+        Slice(final FileChannel chnl, final long start, final long len) {
+            super();
+            this.channel = chnl;
+            this.pos = start;
+            this.end = start + len;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final byte[] one = new byte[1];
+            int chr = this.read(one, 0, 1);
+            if (chr > 0) {
+                chr = one[0] & 0xff;
+            }
+            return chr;
+        }
+
+        @Override
+        public int read(final byte[] buf, final int off, final int len)
+            throws IOException {
+            int read = -1;
+            if (this.pos < this.end) {
+                read = this.channel.read(
+                    ByteBuffer.wrap(
+                        buf, off, (int) Math.min(len, this.end - this.pos)
+                    ),
+                    this.pos
+                );
+                if (read < 0) {
+                    throw new EOFException(
+                        Logger.format("unexpected end of file at %d", this.pos)
+                    );
+                }
+                this.pos += read;
+            }
+            return read;
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.channel.close();
+        }
+    }
+
+    /**
+     * Inflated part of the file, which releases the inflater when closed.
+     *
+     * @since 2.1.0
+     */
+    private static final class Inflated extends InflaterInputStream {
+
+        /**
+         * Ctor.
+         * @param data Compressed data
+         * @param size Size of the buffer
+         */
+        Inflated(final JarManifest.Slice data, final int size) {
+            super(data, new Inflater(true), size);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                this.inf.end();
+            }
+        }
+    }
+
+}
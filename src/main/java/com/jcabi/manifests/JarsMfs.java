@@ -0,0 +1,156 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.manifests;
+
+import com.jcabi.log.Logger;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Manifests in JARs and directories of the classpath, read directly.
+ *
+ * <p>Unlike {@link ClasspathMfs}, it doesn't ask the class loader for
+ * {@code META-INF/MANIFEST.MF} resources and doesn't open them by URL,
+ * which costs a lot for {@code jar:} URLs. Instead, it walks the
+ * {@code java.class.path} and {@code jdk.module.path} system properties,
+ * reads only the manifest entry of each JAR through its central
+ * directory, and closes the JAR as soon as the manifest is parsed:
+ *
+ * <pre> Manifests.singleton().append(new JarsMfs());</pre>
+ *
+ * <p>Directories of the classpath are read as exploded JARs. A directory
+ * of the module path is read as an exploded module if it has
+ * {@code module-info.class}, otherwise all JARs in it are read,
+ * in the order of their names. Files which don't exist are ignored,
+ * as well as files which are not ZIP archives. Each JAR is read only
+ * when its manifest is about to be parsed, see {@link #sources()}.
+ *
+ * <p>The class is immutable and thread-safe.
+ *
+ * @since 2.1.0
+ */
+public final class JarsMfs implements Mfs {
+
+    /**
+     * Entries of the classpath.
+     */
+    private final transient Collection<File> classpath;
+
+    /**
+     * Entries of the module path.
+     */
+    private final transient Collection<File> modules;
+
+    /**
+     * Ctor.
+     */
+    public JarsMfs() {
+        this(JarsMfs.path("java.class.path"), JarsMfs.path("jdk.module.path"));
+    }
+
+    /**
+     * Ctor.
+     * @param files Entries of the classpath
+     */
+    public JarsMfs(final Collection<File> files) {
+        this(files, Collections.emptyList());
+    }
+
+    /**
+     * Ctor.
+     * @param files Entries of the classpath
+     * @param mods Entries of the module path
+     */
+    public JarsMfs(final Collection<File> files, final Collection<File> mods) {
+        this.classpath = Collections.unmodifiableCollection(files);
+        this.modules = Collections.unmodifiableCollection(mods);
+    }
+
+    @Override
+    public Collection<InputStream> fetch() throws IOException {
+        return new SourcesMfs(this.sources()).fetch();
+    }
+
+    @Override
+    public Collection<Mfs.Source> sources() {
+        final Collection<Mfs.Source> sources = new ArrayList<>(
+            this.classpath.size() + this.modules.size()
+        );
+        for (final File file : this.classpath) {
+            sources.add(() -> JarsMfs.open(file));
+        }
+        for (final File file : this.modules) {
+            if (file.isDirectory()
+                && !new File(file, "module-info.class").exists()) {
+                final File[] jars = file.listFiles(
+                    (dir, name) -> name.endsWith(".jar")
+                );
+                if (jars != null) {
+                    Arrays.sort(jars);
+                    for (final File jar : jars) {
+                        sources.add(() -> JarsMfs.open(jar));
+                    }
+                }
+            } else {
+                sources.add(() -> JarsMfs.open(file));
+            }
+        }
+        return sources;
+    }
+
+    /**
+     * Open the manifest of the JAR or directory.
+     *
+     * <p>The manifest of a JAR is inflated only as far as it's read,
+     * see {@link JarManifest#stream()}.
+     *
+     * @param file The JAR or directory
+     * @return The manifest, empty if there is none
+     * @throws IOException If fails
+     */
+    private static InputStream open(final File file) throws IOException {
+        InputStream stream = new ByteArrayInputStream(new byte[0]);
+        if (file.isDirectory()) {
+            final File manifest = new File(file, "META-INF/MANIFEST.MF");
+            if (manifest.isFile()) {
+                stream = Files.newInputStream(manifest.toPath());
+            }
+        } else if (file.isFile()) {
+            try {
+                stream = new JarManifest(file).stream();
+            } catch (final IOException ex) {
+                Logger.warn(
+                    JarsMfs.class, "#open(): can't read %s, ignored: %s",
+                    file, ex.getMessage()
+                );
+            }
+        }
+        return new NamedStream(file.toString(), stream);
+    }
+
+    /**
+     * Entries of the path in the system property.
+     * @param property Name of the property
+     * @return Files
+     */
+    private static Collection<File> path(final String property) {
+        final Collection<File> files = new ArrayList<>(0);
+        for (final String path : System.getProperty(property, "")
+            .split(File.pathSeparator)) {
+            if (!path.isEmpty()) {
+                files.add(new File(path));
+            }
+        }
+        return files;
+    }
+
+}
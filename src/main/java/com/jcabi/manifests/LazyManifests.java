@@ -0,0 +1,335 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.manifests;
+
+import com.jcabi.log.Logger;
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Manifests in classpath, loaded on demand.
+ *
+ * <p>Nothing is loaded until the map is asked for an attribute.
+ * Then, {@code MANIFEST.MF} files are read in small batches, in classpath
+ * order, until the requested attribute is found. All of them are read
+ * only when the entire map is needed, for example by {@link #keySet()},
+ * {@link #getAsMap()} or {@link #size()}, or when an attribute
+ * is absent. The first attribute seen still wins, exactly as with
+ * {@link Manifests#append(Mfs)} and {@link ClasspathMfs}.
+ *
+ * <p>If the {@code com.jcabi.manifests.index} system property is
+ * {@code true} and {@link IndexMfs#RESOURCE} is in classpath, this index
+ * is read first, in front of all {@code MANIFEST.MF} files, see
+ * {@link IndexMfs}.
+ *
+ * <p>Before anything is appended to the map, the entire classpath
+ * is loaded, in order to keep classpath attributes in front of
+ * appended ones.
+ *
+ * <p>The class is thread-safe.
+ *
+ * @since 2.1.0
+ */
+public final class LazyManifests implements MfMap, AsyncAppend.Target {
+
+    /**
+     * Attributes loaded so far.
+     */
+    private final transient MfMap origin;
+
+    /**
+     * Class loader to find manifests in, NULL if it's collected already.
+     */
+    private final transient Supplier<ClassLoader> loader;
+
+    /**
+     * Manifests to load, NULL if not requested yet.
+     *
+     * <p>It's a copy of what the class loader found, since its
+     * enumeration refers to the class loader and would keep it alive.
+     */
+    private final transient AtomicReference<List<URL>> pending;
+
+    /**
+     * Position of the next manifest to load.
+     */
+    private final transient AtomicInteger position;
+
+    /**
+     * Read the index in front of manifests, if it's there.
+     */
+    private final transient boolean indexed;
+
+    /**
+     * Everything is loaded already.
+     */
+    private final transient AtomicBoolean done;
+
+    /**
+     * Ctor.
+     */
+    public LazyManifests() {
+        this(Thread.currentThread().getContextClassLoader());
+    }
+
+    /**
+     * Ctor.
+     * @param ldr Class loader to find manifests in
+     */
+    public LazyManifests(final ClassLoader ldr) {
+        this(new Manifests(new HashMap<>(0)), ldr);
+    }
+
+    /**
+     * Ctor.
+     * @param map Map to load attributes into
+     * @param ldr Class loader to find manifests in
+     */
+    public LazyManifests(final MfMap map, final ClassLoader ldr) {
+        this(map, () -> ldr);
+    }
+
+    /**
+     * Ctor.
+     *
+     * <p>The map may refer to its class loader weakly, in order to let
+     * the class loader be collected, see {@link MfRegistry}.
+     *
+     * @param map Map to load attributes into
+     * @param ldr Class loader to find manifests in, or NULL if it's
+     *  collected already
+     */
+    LazyManifests(final MfMap map, final Supplier<ClassLoader> ldr) {
+        this(map, ldr, IndexMfs.enabled());
+    }
+
+    /**
+     * Ctor.
+     * @param map Map to load attributes into
+     * @param ldr Class loader to find manifests in, or NULL if it's
+     *  collected already
+     * @param index Read the index in front of manifests, if it's there
+     */
+    LazyManifests(final MfMap map, final Supplier<ClassLoader> ldr,
+        final boolean index) {
+        this.origin = map;
+        this.loader = ldr;
+        this.indexed = index;
+        this.pending = new AtomicReference<>();
+        this.position = new AtomicInteger();
+        this.done = new AtomicBoolean();
+    }
+
+    @Override
+    public int size() {
+        this.load(null);
+        return this.origin.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        this.load(null);
+        return this.origin.isEmpty();
+    }
+
+    @Override
+    public boolean containsKey(final String key) {
+        this.load(key);
+        return this.origin.containsKey(key);
+    }
+
+    @Override
+    public boolean containsValue(final String value) {
+        this.load(null);
+        return this.origin.containsValue(value);
+    }
+
+    @Override
+    public String get(final String key) {
+        this.load(key);
+        return this.origin.get(key);
+    }
+
+    @Override
+    public <T> T get(final String key, final Function<String, T> parser) {
+        this.load(key);
+        return this.origin.get(key, parser);
+    }
+
+    @Override
+    public String getIgnoreCase(final String key) {
+        this.load(key);
+        return this.origin.getIgnoreCase(key);
+    }
+
+    @Override
+    public Map<String, String> getAll(final String... keys) {
+        for (final String key : keys) {
+            this.load(key);
+        }
+        return this.origin.getAll(keys);
+    }
+
+    @Override
+    public SortedMap<String, String> getPrefixed(final String prefix) {
+        this.load(null);
+        return this.origin.getPrefixed(prefix);
+    }
+
+    @Override
+    public Map<String, String> getAsMap() {
+        this.load(null);
+        return this.origin.getAsMap();
+    }
+
+    @Override
+    public Set<String> keySet() {
+        this.load(null);
+        return this.origin.keySet();
+    }
+
+    @Override
+    public List<Map.Entry<String, String>> origins(final String key) {
+        this.load(null);
+        return this.origin.origins(key);
+    }
+
+    @Override
+    public Map<String, String> section(final String name) {
+        this.load(null);
+        return this.origin.section(name);
+    }
+
+    @Override
+    public void append(final Mfs mfs) throws IOException {
+        this.load(null);
+        this.origin.append(mfs);
+    }
+
+    @Override
+    public MfMap target() {
+        this.load(null);
+        return this.origin;
+    }
+
+    /**
+     * Load manifests until the attribute is found.
+     * @param key The attribute to find or NULL to load everything
+     */
+    private void load(final String key) {
+        if (!this.done.get() && (key == null || !this.origin.containsKey(key))) {
+            this.scan(key);
+        }
+    }
+
+    /**
+     * Read manifests from classpath until the attribute is found.
+     *
+     * <p>Manifests are appended in batches, which double in size each
+     * time, since every append publishes a new snapshot of the origin.
+     * When everything has to be loaded, all remaining manifests are
+     * appended at once, which also lets the origin parse them in
+     * parallel, if it's configured to do so.
+     *
+     * @param key The attribute to find or NULL to load everything
+     */
+    private synchronized void scan(final String key) {
+        try {
+            final List<URL> urls = this.urls();
+            int pos = this.position.get();
+            int batch = 1;
+            while (pos < urls.size()
+                && (key == null || !this.origin.containsKey(key))) {
+                int end = urls.size();
+                if (key != null) {
+                    end = Math.min(end, pos + batch);
+                    batch <<= 1;
+                }
+                this.append(urls.subList(pos, end));
+                pos = end;
+                this.position.set(pos);
+            }
+            if (pos == urls.size()) {
+                this.done.set(true);
+                this.pending.set(Collections.emptyList());
+                this.position.set(0);
+            }
+        } catch (final IOException ex) {
+            this.done.set(true);
+            Logger.error(this, "#scan(): failed %[exception]s", ex);
+        }
+    }
+
+    /**
+     * Append manifests to the origin.
+     *
+     * <p>If one of them is broken, the others are appended one by one,
+     * skipping the broken one.
+     *
+     * @param urls Manifests to append
+     */
+    private void append(final Collection<URL> urls) {
+        try {
+            this.origin.append(LazyManifests.mfs(urls));
+        } catch (final IOException ex) {
+            for (final URL url : urls) {
+                try {
+                    this.origin.append(
+                        LazyManifests.mfs(Collections.singleton(url))
+                    );
+                } catch (final IOException err) {
+                    Logger.error(
+                        this, "#append(): failed to load %s %[exception]s",
+                        url, err
+                    );
+                }
+            }
+        }
+    }
+
+    /**
+     * Manifests to load, including those loaded already.
+     * @return URLs of them
+     * @throws IOException If fails
+     */
+    private List<URL> urls() throws IOException {
+        if (this.pending.get() == null) {
+            final ClassLoader ldr = this.loader.get();
+            if (ldr == null) {
+                this.pending.set(Collections.emptyList());
+            } else {
+                this.pending.set(IndexMfs.manifests(ldr, this.indexed));
+            }
+        }
+        return this.pending.get();
+    }
+
+    /**
+     * Manifests at the given URLs.
+     * @param urls The URLs
+     * @return Manifests
+     */
+    private static Mfs mfs(final Collection<URL> urls) {
+        final Collection<Mfs.Source> sources = new ArrayList<>(urls.size());
+        for (final URL url : urls) {
+            sources.add(() -> new NamedStream(url.toString(), url.openStream()));
+        }
+        return new SourcesMfs(sources);
+    }
+
+}
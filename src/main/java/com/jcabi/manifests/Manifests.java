@@ -5,18 +5,33 @@
 package com.jcabi.manifests;
 
 import com.jcabi.log.Logger;
+import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.AbstractMap;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.SortedMap;
 import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.jar.Manifest;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
 
 /**
  * Static reader of {@code META-INF/MANIFEST.MF} files.
@@ -78,6 +93,91 @@ import java.util.jar.Manifest;
  *
  * <pre>Manifests.singleton().put("Hello", "world");</pre>
  *
+ * <p>Streams fetched from {@link Mfs} may be parsed in parallel, if
+ * you specify the number of threads to use. The attributes are merged
+ * in the order of streams anyway, so the first one seen still wins:
+ *
+ * <pre>new Manifests(new HashMap&lt;&gt;(0), new MfSettings().withThreads(8))
+ *   .append(new ClasspathMfs());</pre>
+ *
+ * <p>The singleton takes this number from the
+ * {@code com.jcabi.manifests.threads} system property (one thread
+ * by default).
+ *
+ * <p>Streams with byte-identical main sections, as JARs of one build
+ * often have, are parsed only once per append, unless named sections
+ * are kept. Unless sources are recorded or another policy is used,
+ * the copies are not merged either, since the first one wins anyway.
+ * How many streams were deduplicated is told to {@link MfListener}.
+ *
+ * <p>Attributes are kept in an immutable snapshot, which is replaced
+ * atomically by {@link #append(Mfs)}. Readers never block and never see
+ * a half-appended collection; {@link #getAsMap()} and {@link #keySet()}
+ * return unmodifiable views of the current snapshot, without copying.
+ * The snapshot is a flat open-addressing array rather than a hash map
+ * of nodes, and names and values of attributes are interned, so that
+ * a classpath of a thousand JARs doesn't keep a thousand copies of
+ * {@code Created-By: Apache Maven}.
+ *
+ * <p>Typed accessors, such as {@link #getInt(String)} or
+ * {@link #getVersion(String)}, convert a value only once and keep
+ * the result next to it, until the value changes. Converters given
+ * to {@link #get(String, Function)} are applied on every call:
+ *
+ * <pre> Instant built = Manifests.singleton().getInstant("Build-Timestamp");</pre>
+ *
+ * <p>The singleton doesn't read the classpath until it's asked for
+ * an attribute, see {@link LazyManifests}. Then it reads only as many
+ * {@code MANIFEST.MF} files as necessary to find the attribute.
+ *
+ * <p>How long it takes to find manifests, and to open and parse each of
+ * them, may be measured by {@link MfListener}, see {@link MfSettings}.
+ *
+ * <p>When two manifests have the same attribute, the first one wins and
+ * the other one is ignored. To find out which one won and what was
+ * shadowed, ask the map to record sources of attributes and use
+ * {@link #origins(String)}:
+ *
+ * <pre> MfMap map = new Manifests(
+ *   new HashMap&lt;&gt;(0), new MfSettings().withProvenance(true)
+ * );
+ * map.append(new ClasspathMfs());
+ * map.origins("Implementation-Version");</pre>
+ *
+ * <p>The singleton records them if the
+ * {@code com.jcabi.manifests.provenance} system property is {@code true}.
+ *
+ * <p>Another policy of merging, for example {@link MfPolicy#LAST} or
+ * {@link PriorityPolicy}, may be given in {@link MfSettings}. It's used only
+ * for the main section. The singleton always lets the first one win,
+ * since it reads the classpath lazily, see {@link LazyManifests}.
+ *
+ * <p>Attributes of named sections, like per-package
+ * {@code Implementation-Title}, are skipped, unless the map is asked
+ * to keep some of them, by their names. They are parsed in the same pass:
+ *
+ * <pre> MfMap map = new Manifests(
+ *   new HashMap&lt;&gt;(0),
+ *   new MfSettings().withSections(name -&gt; name.startsWith("com/example/"))
+ * );
+ * map.append(new ClasspathMfs());
+ * map.section("com/example/").get("Implementation-Title");</pre>
+ *
+ * <p>The singleton keeps those matching the regular expression in the
+ * {@code com.jcabi.manifests.sections} system property.
+ *
+ * <p>The singleton may also keep all attributes in a file, in order
+ * to not read the classpath again on the next start of the JVM, if
+ * the {@code com.jcabi.manifests.cache} system property contains a path
+ * of the file, see {@link CachedManifests}. It reads the index made
+ * at build time, in front of all manifests, if the
+ * {@code com.jcabi.manifests.index} system property is {@code true},
+ * see {@link IndexMfs}.
+ *
+ * <p>In an application server, each web application may use its own
+ * map, instead of the singleton shared by all of them, see
+ * {@link #scoped()}.
+ *
  * <p>The only dependency you need (check the latest version at
  * <a href="http://manifests.jcabi.com/">jcabi-manifests</a>):
  *
@@ -99,20 +199,79 @@ public final class Manifests implements MfMap {
      * Default singleton.
      */
     private static final AtomicReference<MfMap> DEFAULT =
-        new AtomicReference<>(new Manifests());
+        new AtomicReference<>(Manifests.classpath());
 
     /**
-     * Attributes retrieved.
+     * Maps of class loaders.
      */
-    private final transient Map<String, String> attributes;
+    private static final MfRegistry SCOPED = new MfRegistry(
+        ldr -> new LazyManifests(
+            Manifests.configured(new HashMap<>(0)), new WeakReference<>(ldr)::get
+        )
+    );
 
-    static {
-        try {
-            Manifests.singleton().append(new ClasspathMfs());
-        } catch (final IOException ex) {
-            Manifests.logLoadFailedError(ex);
-        }
-    }
+    /**
+     * Attributes retrieved, an immutable snapshot.
+     */
+    private final transient AtomicReference<CompactMap> attributes;
+
+    /**
+     * How many threads to use for parsing of streams.
+     */
+    private final transient int threads;
+
+    /**
+     * Threads to parse streams with, NULL until they are needed.
+     */
+    private final transient AtomicReference<ForkJoinPool> workers;
+
+    /**
+     * Listener of loading.
+     */
+    private final transient MfListener listener;
+
+    /**
+     * Record sources of attributes.
+     */
+    private final transient boolean traced;
+
+    /**
+     * Sources of attributes, an immutable snapshot.
+     */
+    private final transient AtomicReference<Provenance> provenance;
+
+    /**
+     * Which named sections to keep, by their names.
+     */
+    private final transient Predicate<String> wanted;
+
+    /**
+     * Attributes of named sections, an immutable snapshot.
+     */
+    private final transient AtomicReference<Map<String, Map<String, String>>> entries;
+
+    /**
+     * Policy of merging attributes, which the map already has.
+     */
+    private final transient MfPolicy policy;
+
+    /**
+     * Name of the source of each attribute, an immutable snapshot, kept
+     * only if the policy is not {@link MfPolicy#FIRST}.
+     */
+    private final transient AtomicReference<Map<String, String>> owners;
+
+    /**
+     * Pool of names and values of attributes kept.
+     */
+    private final transient StringPool pool;
+
+    /**
+     * Values of attributes converted by typed accessors, by converter,
+     * one of {@link Conversions}, and name of attribute.
+     */
+    private final transient ConcurrentMap<Function<String, ?>,
+        ConcurrentMap<String, Manifests.Converted>> converted;
 
     /**
      * Public ctor.
@@ -128,8 +287,43 @@ public final class Manifests implements MfMap {
      * @since 1.0
      */
     public Manifests(final Map<String, String> attrs) {
+        this(attrs, new MfSettings());
+    }
+
+    /**
+     * Public ctor.
+     * @param attrs Attributes to encapsulate
+     * @param settings Threads, listener and other options
+     * @since 2.1.0
+     */
+    public Manifests(final Map<String, String> attrs, final MfSettings settings) {
         super();
-        this.attributes = new ConcurrentHashMap<>(attrs);
+        this.pool = new StringPool();
+        this.converted = new ConcurrentHashMap<>(0);
+        this.attributes = new AtomicReference<>(new CompactMap(attrs, this.pool));
+        this.threads = settings.threads();
+        this.workers = new AtomicReference<>();
+        this.listener = settings.listener();
+        this.traced = settings.provenance();
+        Provenance prov = new Provenance();
+        if (this.traced) {
+            prov = prov.with(
+                Collections.singletonList("(initial)"),
+                Collections.singletonList(attrs),
+                this.pool
+            );
+        }
+        this.provenance = new AtomicReference<>(prov);
+        this.wanted = settings.sections();
+        this.entries = new AtomicReference<>(Collections.emptyMap());
+        this.policy = settings.policy();
+        final Map<String, String> srcs = new HashMap<>(attrs.size());
+        if (this.policy != MfPolicy.FIRST) {
+            for (final String key : attrs.keySet()) {
+                srcs.put(key, "(initial)");
+            }
+        }
+        this.owners = new AtomicReference<>(Collections.unmodifiableMap(srcs));
     }
 
     /**
@@ -142,69 +336,205 @@ public final class Manifests implements MfMap {
         return Manifests.DEFAULT.get();
     }
 
+    /**
+     * Get the map of the context class loader of the current thread.
+     *
+     * <p>Unlike the singleton, which is one for the entire JVM, each
+     * class loader, for example of a web application, has its own map,
+     * which is collected together with the class loader, see
+     * {@link MfRegistry}. The map is configured by the same system
+     * properties as the singleton, except the cache.
+     *
+     * @return The map
+     * @since 2.1.0
+     */
+    public static MfMap scoped() {
+        return Manifests.SCOPED.current();
+    }
+
     @Override
     public int size() {
-        return this.attributes.size();
+        return this.attributes.get().size();
     }
 
     @Override
     public boolean isEmpty() {
-        return this.attributes.isEmpty();
+        return this.attributes.get().isEmpty();
     }
 
     @Override
     public boolean containsKey(final String key) {
-        return this.attributes.containsKey(key);
+        return this.attributes.get().containsKey(key);
     }
 
     @Override
     public boolean containsValue(final String value) {
-        return this.attributes.containsValue(value);
+        return this.attributes.get().containsValue(value);
     }
 
     @Override
     public String get(final String key) {
-        return this.attributes.get(key);
+        return this.attributes.get().get(key);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(final String key, final Function<String, T> parser) {
+        final String value = this.get(key);
+        T result = null;
+        if (value != null && !Conversions.known(parser)) {
+            result = parser.apply(value);
+        } else if (value != null) {
+            ConcurrentMap<String, Manifests.Converted> values =
+                this.converted.get(parser);
+            if (values == null) {
+                this.converted.putIfAbsent(parser, new ConcurrentHashMap<>(0));
+                values = this.converted.get(parser);
+            }
+            final Manifests.Converted before = values.get(key);
+            if (before != null && before.raw.equals(value)) {
+                result = (T) before.value;
+            } else {
+                result = parser.apply(value);
+                values.put(key, new Manifests.Converted(value, result));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public String getIgnoreCase(final String key) {
+        return this.attributes.get().ignoringCase(key);
+    }
+
+    @Override
+    public SortedMap<String, String> getPrefixed(final String prefix) {
+        return this.attributes.get().prefixed(prefix);
     }
 
     @Override
     public Map<String, String> getAsMap() {
-        return new HashMap<>(this.attributes);
+        return this.attributes.get();
     }
 
     @Override
     public Set<String> keySet() {
-        return new HashSet<>(this.attributes.keySet());
+        return this.attributes.get().keySet();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Sources are recorded only if the map was asked to do so in the
+     * constructor. The source of a stream is known only if it is
+     * a {@link NamedStream}, otherwise it's {@code "(unknown)"}.
+     * Attributes given to the constructor come from {@code "(initial)"}.
+     */
+    @Override
+    public List<Map.Entry<String, String>> origins(final String key) {
+        return this.provenance.get().origins(key);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Named sections are kept only if the map was asked for them in
+     * the constructor. When two manifests have the same attribute in the
+     * same section, the first one wins, no matter what the policy is.
+     */
+    @Override
+    public Map<String, String> section(final String name) {
+        return this.entries.get().getOrDefault(name, Collections.emptyMap());
     }
 
     @Override
-    @SuppressWarnings({"PMD.CloseResource", "PMD.UnnecessaryLocalRule"})
     public void append(final Mfs mfs) throws IOException {
-        final long start = System.currentTimeMillis();
-        final Collection<InputStream> list = mfs.fetch();
-        int saved = 0;
-        int ignored = 0;
-        for (final InputStream stream : list) {
-            for (final Map.Entry<String, String> attr
-                : Manifests.load(stream).entrySet()) {
-                if (this.attributes.containsKey(attr.getKey())) {
-                    ++ignored;
+        final long start = System.nanoTime();
+        this.absorb(this.parse(this.sources(mfs), new ConcurrentHashMap<>(0)), start);
+    }
+
+    /**
+     * Fetch sources of streams and tell the listener about it.
+     * @param mfs Manifests to fetch
+     * @return Sources of their streams
+     * @throws IOException If fails
+     */
+    Collection<Mfs.Source> sources(final Mfs mfs) throws IOException {
+        final long start = System.nanoTime();
+        final Collection<Mfs.Source> list = mfs.sources();
+        if (this.listener != MfListener.NONE) {
+            this.listener.fetched(mfs, list.size(), System.nanoTime() - start);
+        }
+        return list;
+    }
+
+    /**
+     * Merge attributes of parsed streams into the map, all at once.
+     * @param loaded Name of the source and attributes of each section of
+     *  each stream, in order, see {@link #load(Mfs.Source, ConcurrentMap)}
+     * @param start When the append started, in nanoseconds
+     */
+    @SuppressWarnings({"PMD.CloseResource", "PMD.UnnecessaryLocalRule"})
+    void absorb(final List<Map.Entry<String, Map<String, Map<String, String>>>> loaded,
+        final long start) {
+        final String[] names = new String[loaded.size()];
+        final List<Map<String, Map<String, String>>> parsed =
+            new ArrayList<>(loaded.size());
+        for (final Map.Entry<String, Map<String, Map<String, String>>> one : loaded) {
+            names[parsed.size()] = one.getKey();
+            parsed.add(one.getValue());
+        }
+        final boolean full = this.policy != MfPolicy.FIRST || this.traced
+            || this.wanted != MfSettings.NO_SECTIONS;
+        final List<Map<String, String>> mains = new ArrayList<>(parsed.size());
+        final Set<Map<String, String>> unique =
+            Collections.newSetFromMap(new IdentityHashMap<>(parsed.size()));
+        int dups = 0;
+        for (final Map<String, Map<String, String>> sections : parsed) {
+            final Map<String, String> main = sections.get("");
+            final boolean fresh = unique.add(main);
+            if (!fresh) {
+                ++dups;
+            }
+            if (fresh || full) {
+                mains.add(main);
+            }
+        }
+        final int[] counts;
+        if (full) {
+            synchronized (this.provenance) {
+                if (this.policy == MfPolicy.FIRST) {
+                    counts = this.merge(mains);
                 } else {
-                    this.attributes.put(attr.getKey(), attr.getValue());
-                    ++saved;
+                    counts = this.replace(mains, names);
+                }
+                if (this.traced) {
+                    this.provenance.set(
+                        this.provenance.get().with(
+                            Arrays.asList(names), mains, this.pool
+                        )
+                    );
                 }
+                this.index(parsed);
             }
-            stream.close();
+        } else {
+            counts = this.merge(mains);
+        }
+        final int saved = counts[0];
+        final int ignored = counts[1];
+        if (this.listener != MfListener.NONE) {
+            this.listener.deduplicated(dups);
+            this.listener.merged(saved, ignored, System.nanoTime() - start);
         }
         if (Logger.isDebugEnabled(this)) {
             Logger.debug(
                 this,
                 // @checkstyle LineLength (1 line)
-                "%d attributes loaded from %d stream(s) in %[ms]s, %d saved, %d ignored: %[list]s",
-                this.attributes.size(), list.size(),
-                System.currentTimeMillis() - start,
-                saved, ignored,
-                new TreeSet<>(this.attributes.keySet())
+                "%d attributes loaded from %d stream(s) in %[nano]s, %d saved, %d ignored, %d duplicate(s): %[list]s",
+                this.size(), loaded.size(),
+                System.nanoTime() - start,
+                saved, ignored, dups,
+                new TreeSet<>(this.keySet())
             );
         }
     }
@@ -214,7 +544,8 @@ public final class Manifests implements MfMap {
      *
      * <p>If such an attribute doesn't exist {@link IllegalArgumentException}
      * will be thrown. If you're not sure whether the attribute is present or
-     * not use {@link #exists(String)} beforehand.
+     * not use {@link #exists(String)} beforehand, or
+     * {@link #read(String, String)}, which is cheaper.
      *
      * <p>The method is thread-safe.
      *
@@ -228,18 +559,40 @@ public final class Manifests implements MfMap {
         if (name.isEmpty()) {
             throw new IllegalArgumentException("attribute can't be empty");
         }
-        if (!Manifests.exists(name)) {
-            throw new IllegalArgumentException(
-                Logger.format(
-                    // @checkstyle LineLength (1 line)
-                    "Attribute '%s' not found in MANIFEST.MF file(s) among %d other attribute(s): %[list]s",
-                    name,
-                    Manifests.singleton().size(),
-                    new TreeSet<>(Manifests.singleton().keySet())
-                )
-            );
+        final MfMap map = Manifests.singleton();
+        final String value = map.get(name);
+        if (value == null) {
+            throw new AbsentAttributeException(name, map);
         }
-        return Manifests.singleton().get(name);
+        return value;
+    }
+
+    /**
+     * Read one attribute available in one of {@code MANIFEST.MF} files,
+     * or the default value if it's absent.
+     *
+     * <p>Unlike {@link #read(String)}, it doesn't throw if the attribute
+     * is absent, and it looks it up only once.
+     *
+     * <p>The method is thread-safe.
+     *
+     * @param name Name of the attribute
+     * @param def Default value to return if the attribute is absent
+     * @return The value of the attribute retrieved or the default one
+     * @since 2.1.0
+     */
+    public static String read(final String name, final String def) {
+        if (name == null) {
+            throw new IllegalArgumentException("attribute can't be NULL");
+        }
+        if (name.isEmpty()) {
+            throw new IllegalArgumentException("attribute can't be empty");
+        }
+        String value = Manifests.singleton().get(name);
+        if (value == null) {
+            value = def;
+        }
+        return value;
     }
 
     /**
@@ -263,54 +616,500 @@ public final class Manifests implements MfMap {
         return Manifests.singleton().containsKey(name);
     }
 
+    /**
+     * Make a map of all attributes in classpath, for the singleton.
+     *
+     * <p>The context class loader is referred to weakly, as in
+     * {@link #scoped()}, so that the singleton doesn't keep alive the
+     * web application, which happened to touch it first.
+     *
+     * <p>The map is configured by system properties:
+     * {@code com.jcabi.manifests.threads} is the number of threads
+     * to parse manifests with, {@code com.jcabi.manifests.listener} is
+     * the name of the class of {@link MfListener} to use,
+     * {@code com.jcabi.manifests.provenance} set to {@code true} makes it
+     * record sources of attributes,
+     * {@code com.jcabi.manifests.sections} is a regular expression of names
+     * of sections to keep, and
+     * {@code com.jcabi.manifests.cache} is the path of the file to cache
+     * attributes in, see {@link CachedManifests}. The file keeps neither
+     * sources of attributes nor named sections, so it's not used if
+     * they are asked for.
+     *
+     * @return The map
+     */
+    private static MfMap classpath() {
+        final ClassLoader ldr = Thread.currentThread().getContextClassLoader();
+        MfMap map = new LazyManifests(
+            Manifests.configured(new HashMap<>(0)), new WeakReference<>(ldr)::get
+        );
+        final String cache = System.getProperty("com.jcabi.manifests.cache");
+        if (cache != null) {
+            if (Boolean.getBoolean("com.jcabi.manifests.provenance")
+                || Manifests.sections() != MfSettings.NO_SECTIONS) {
+                Logger.warn(
+                    Manifests.class,
+                    "#classpath(): %s is not used, since it can't keep sources and sections",
+                    cache
+                );
+            } else {
+                map = new CachedManifests(
+                    map, new File(cache), ldr, Manifests::configured
+                );
+            }
+        }
+        return map;
+    }
+
+    /**
+     * Make a map, configured by system properties, see
+     * {@link #classpath()}.
+     * @param attrs Attributes to start with
+     * @return The map
+     */
+    private static Manifests configured(final Map<String, String> attrs) {
+        return new Manifests(
+            attrs,
+            new MfSettings()
+                .withThreads(Integer.getInteger("com.jcabi.manifests.threads", 1))
+                .withListener(Manifests.listener())
+                .withProvenance(Boolean.getBoolean("com.jcabi.manifests.provenance"))
+                .withSections(Manifests.sections())
+        );
+    }
+
+    /**
+     * Make a filter of named sections for the singleton.
+     * @return The filter of the regular expression in system properties
+     */
+    private static Predicate<String> sections() {
+        final String regex = System.getProperty("com.jcabi.manifests.sections");
+        Predicate<String> filter = MfSettings.NO_SECTIONS;
+        if (regex != null) {
+            final Pattern pattern = Pattern.compile(regex);
+            filter = name -> pattern.matcher(name).matches();
+        }
+        return filter;
+    }
+
+    /**
+     * Make a listener for the singleton.
+     *
+     * <p>The class is loaded by the class loader of this library, not by
+     * the context one, since the maps of {@link #scoped()} must not keep
+     * class loaders of web applications alive.
+     *
+     * @return The listener of the class named in system properties
+     */
+    private static MfListener listener() {
+        final String name = System.getProperty("com.jcabi.manifests.listener");
+        MfListener lstnr = MfListener.NONE;
+        if (name != null) {
+            try {
+                lstnr = Class.forName(
+                    name, true, Manifests.class.getClassLoader()
+                ).asSubclass(MfListener.class).getConstructor().newInstance();
+            } catch (final ReflectiveOperationException | ClassCastException ex) {
+                Logger.error(
+                    Manifests.class, "#listener(): can't use %s %[exception]s",
+                    name, ex
+                );
+            }
+        }
+        return lstnr;
+    }
+
+    /**
+     * Merge parsed attributes into the snapshot, the first one seen wins.
+     *
+     * <p>The entire snapshot is replaced by compare-and-set, so concurrent
+     * appends never mix and no lock is needed.
+     * @param parsed Attributes of each stream, in order
+     * @return Number of attributes saved and ignored
+     */
+    private int[] merge(final List<Map<String, String>> parsed) {
+        int saved;
+        int ignored;
+        while (true) {
+            final CompactMap before = this.attributes.get();
+            final Map<String, String> after = new HashMap<>(before);
+            saved = 0;
+            ignored = 0;
+            for (final Map<String, String> attrs : parsed) {
+                for (final Map.Entry<String, String> attr : attrs.entrySet()) {
+                    if (after.putIfAbsent(attr.getKey(), attr.getValue()) == null) {
+                        ++saved;
+                    } else {
+                        ++ignored;
+                    }
+                }
+            }
+            if (saved == 0 || this.attributes.compareAndSet(
+                before, new CompactMap(after, this.pool)
+            )) {
+                break;
+            }
+        }
+        return new int[] {saved, ignored};
+    }
+
+    /**
+     * Merge parsed attributes into the snapshot, by the policy.
+     *
+     * <p>Must be called only under the lock, since the snapshot and
+     * the owners of attributes are replaced one after another.
+     *
+     * @param parsed Attributes of each stream, in order
+     * @param names Name of the source of each stream
+     * @return Number of attributes saved and ignored
+     */
+    private int[] replace(final List<Map<String, String>> parsed,
+        final String[] names) {
+        final Map<String, String> after = new HashMap<>(this.attributes.get());
+        final Map<String, String> srcs = new HashMap<>(this.owners.get());
+        int saved = 0;
+        int ignored = 0;
+        for (int idx = 0; idx < parsed.size(); ++idx) {
+            for (final Map.Entry<String, String> attr
+                : parsed.get(idx).entrySet()) {
+                final String owner = srcs.get(attr.getKey());
+                if (owner == null
+                    || this.policy.replaces(attr.getKey(), owner, names[idx])) {
+                    after.put(attr.getKey(), attr.getValue());
+                    srcs.put(attr.getKey(), names[idx]);
+                    ++saved;
+                } else {
+                    ++ignored;
+                }
+            }
+        }
+        this.owners.set(Collections.unmodifiableMap(srcs));
+        this.attributes.set(new CompactMap(after, this.pool));
+        return new int[] {saved, ignored};
+    }
+
+    /**
+     * Merge attributes of named sections into the snapshot, the first
+     * one seen wins.
+     * @param parsed Attributes of each section of each stream, in order
+     */
+    private void index(final List<Map<String, Map<String, String>>> parsed) {
+        final Map<String, Map<String, String>> after =
+            new HashMap<>(this.entries.get());
+        for (final Map<String, Map<String, String>> sections : parsed) {
+            for (final Map.Entry<String, Map<String, String>> section
+                : sections.entrySet()) {
+                if (!section.getKey().isEmpty()) {
+                    final Map<String, String> attrs = new HashMap<>(
+                        after.getOrDefault(section.getKey(), Collections.emptyMap())
+                    );
+                    for (final Map.Entry<String, String> attr
+                        : section.getValue().entrySet()) {
+                        attrs.putIfAbsent(attr.getKey(), attr.getValue());
+                    }
+                    after.put(
+                        this.pool.intern(section.getKey()),
+                        new CompactMap(attrs, this.pool)
+                    );
+                }
+            }
+        }
+        this.entries.set(Collections.unmodifiableMap(after));
+    }
+
+    /**
+     * Parse all streams, in parallel if configured so.
+     *
+     * <p>The result contains attributes of each stream in the same order
+     * as the streams were provided, no matter which of them were parsed
+     * first. Each stream is opened right before parsing and closed
+     * right after, so no more of them are open at the same time
+     * than there are threads. The threads are started when they are
+     * needed for the first time and kept for next appends.
+     *
+     * <p>A stream, which fails to be opened or parsed, is skipped with
+     * a warning, so that one broken JAR doesn't spoil the entire
+     * classpath. If all of them fail, the error of the first one is
+     * thrown.
+     *
+     * @param list Sources of streams to parse
+     * @param seen Main sections parsed already, by their bytes
+     * @return Name of the source and attributes of each section of each
+     *  stream, in order
+     * @throws IOException If all streams fail
+     */
+    private List<Map.Entry<String, Map<String, Map<String, String>>>> parse(
+        final Collection<Mfs.Source> list,
+        final ConcurrentMap<ByteBuffer, Map<String, String>> seen)
+        throws IOException {
+        final List<Map.Entry<String, Map<String, Map<String, String>>>> loaded =
+            new ArrayList<>(list.size());
+        final List<IOException> errors = new ArrayList<>(0);
+        if (this.threads > 1 && list.size() > 1) {
+            final ForkJoinPool pool = this.workers();
+            final List<ForkJoinTask<Map.Entry<String, Map<String, Map<String, String>>>>>
+                tasks = new ArrayList<>(list.size());
+            for (final Mfs.Source source : list) {
+                tasks.add(pool.submit(() -> this.load(source, seen)));
+            }
+            for (final ForkJoinTask<Map.Entry<String, Map<String, Map<String, String>>>>
+                task : tasks) {
+                try {
+                    loaded.add(task.get());
+                } catch (final InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(ex);
+                } catch (final ExecutionException ex) {
+                    if (!(ex.getCause() instanceof IOException)) {
+                        throw new IOException(ex.getCause());
+                    }
+                    errors.add((IOException) ex.getCause());
+                }
+            }
+        } else {
+            for (final Mfs.Source source : list) {
+                try {
+                    loaded.add(this.load(source, seen));
+                } catch (final IOException ex) {
+                    errors.add(ex);
+                }
+            }
+        }
+        if (loaded.isEmpty() && !errors.isEmpty()) {
+            throw errors.get(0);
+        }
+        return loaded;
+    }
+
+    /**
+     * Threads to parse streams with, started once.
+     * @return The pool
+     */
+    private ForkJoinPool workers() {
+        ForkJoinPool pool = this.workers.get();
+        if (pool == null) {
+            final ForkJoinPool fresh = new ForkJoinPool(this.threads);
+            if (this.workers.compareAndSet(null, fresh)) {
+                pool = fresh;
+            } else {
+                fresh.shutdown();
+                pool = this.workers.get();
+            }
+        }
+        return pool;
+    }
+
     /**
      * Load attributes from input stream.
      *
-     * <p>Inside the method we catch {@code RuntimeException} (which may look
-     * suspicious) in order to protect our execution flow from expected (!)
-     * exceptions from {@link Manifest#getMainAttributes()}. For some reason,
-     * this JDK method doesn't throw checked exceptions if {@code MANIFEST.MF}
-     * file format is broken. Instead, it throws a runtime exception (an
-     * unchecked one), which we should catch in such an inconvenient way.
+     * <p>Only the main section of the manifest is parsed, see
+     * {@link MfParser}, and named sections, if they are wanted.
      *
-     * @param stream Stream to load from
-     * @return The attributes loaded
+     * <p>If named sections are not wanted, the main section is read into
+     * memory first. If the same bytes were parsed already during this
+     * append, which happens a lot with JARs of one build, the attributes
+     * parsed then are returned, the very same instance, and the listener
+     * isn't told about parsing.
+     *
+     * @param source Source of the stream to load from
+     * @param seen Main sections parsed already, by their bytes
+     * @return Name of the source and attributes of each section, the
+     *  main one has an empty name
      * @throws IOException If some problem happens
      * @since 0.8
      */
-    @SuppressWarnings({"PMD.AvoidCatchingGenericException", "PMD.UseTryWithResources"})
-    private static Map<String, String> load(final InputStream stream)
+    Map.Entry<String, Map<String, Map<String, String>>> load(
+        final Mfs.Source source,
+        final ConcurrentMap<ByteBuffer, Map<String, String>> seen)
         throws IOException {
-        final ConcurrentMap<String, String> props =
-            new ConcurrentHashMap<>(0);
-        try {
-            for (final Map.Entry<Object, Object> entry
-                : new Manifest(stream).getMainAttributes().entrySet()) {
-                props.put(
-                    entry.getKey().toString(),
-                    entry.getValue().toString()
-                );
+        final boolean measured = this.listener != MfListener.NONE;
+        long start = 0L;
+        if (measured) {
+            start = System.nanoTime();
+        }
+        Map<String, String> props;
+        final Map<String, Map<String, String>> sections;
+        long bytes = -1L;
+        String name = "(unknown)";
+        try (InputStream input = source.open()) {
+            if (input instanceof NamedStream) {
+                name = ((NamedStream) input).name();
             }
-            Logger.debug(
-                Manifests.class,
-                "%d attribute(s) loaded %[list]s",
-                props.size(), new TreeSet<>(props.keySet())
+            if (this.wanted == MfSettings.NO_SECTIONS) {
+                final ByteBuffer head = Manifests.head(input);
+                props = seen.get(head);
+                if (props == null) {
+                    props = new MfParser(
+                        new ByteArrayInputStream(head.array(), 0, head.limit())
+                    ).main();
+                    bytes = head.limit();
+                    final Map<String, String> before = seen.putIfAbsent(head, props);
+                    if (before != null) {
+                        props = before;
+                    }
+                }
+                sections = Collections.singletonMap("", props);
+            } else {
+                final MfParser parser = new MfParser(input);
+                props = parser.main();
+                sections = parser.sections(this.wanted);
+                sections.put("", props);
+                bytes = parser.bytes();
+            }
+        } catch (final IOException ex) {
+            this.listener.failed(ex);
+            Logger.warn(this, "#load(): can't read %s: %s", name, ex.getMessage());
+            throw ex;
+        }
+        if (measured && bytes >= 0L) {
+            this.listener.parsed(
+                props.size(), bytes, System.nanoTime() - start
             );
-        // @checkstyle IllegalCatch (1 line)
-        } catch (final RuntimeException ex) {
-            Manifests.logLoadFailedError(ex);
-        } finally {
-            stream.close();
         }
-        return props;
+        Logger.debug(
+            Manifests.class,
+            "%d attribute(s) loaded %[list]s",
+            props.size(), props.keySet()
+        );
+        return new AbstractMap.SimpleImmutableEntry<>(name, sections);
+    }
+
+    /**
+     * Read the main section of the manifest, up to and including the
+     * first empty line, or the entire stream if there is none.
+     * @param input The stream
+     * @return The bytes, from zero to the limit of the buffer
+     * @throws IOException If fails
+     */
+    private static ByteBuffer head(final InputStream input)
+        throws IOException {
+        byte[] buf = new byte[2048];
+        int len = 0;
+        int end = -1;
+        int scanned = 0;
+        while (end < 0) {
+            if (len == buf.length) {
+                buf = Arrays.copyOf(buf, len << 1);
+            }
+            final int read = input.read(buf, len, buf.length - len);
+            if (read < 0) {
+                end = len;
+            } else {
+                len += read;
+                while (scanned < len && end < 0) {
+                    end = Manifests.blank(buf, scanned);
+                    ++scanned;
+                }
+            }
+        }
+        return ByteBuffer.wrap(buf, 0, end);
     }
 
     /**
-     * Report the exception that was just thrown.
+     * Does an empty line start at the position, right after a line break
+     * or at the very beginning?
      *
-     * @param exn The exception to report
+     * <p>Only the first byte of the line break of the empty line is
+     * taken, so that the result doesn't depend on how the stream
+     * is split into reads.
+     *
+     * @param buf The bytes
+     * @param pos The position, which must be less than the length
+     * @return Position after the empty line, or -1 if there is none
      */
-    private static void logLoadFailedError(final Exception exn) {
-        Logger.error(Manifests.class, "#load(): failed %[exception]s", exn);
+    private static int blank(final byte[] buf, final int pos) {
+        int end = -1;
+        final boolean start = pos == 0 || buf[pos - 1] == '\n'
+            || buf[pos - 1] == '\r' && buf[pos] != '\n';
+        if (start && (buf[pos] == '\n' || buf[pos] == '\r')) {
+            end = pos + 1;
+        }
+        return end;
     }
+
+    /**
+     * Attribute not found.
+     *
+     * <p>The message, with all attributes available, is built only when
+     * it's requested, since quite often the exception is caught and
+     * ignored.
+     *
+     * @since 2.1.0
+     */
+    private static final class AbsentAttributeException
+        extends IllegalArgumentException {
+
+        /**
+         * Serialization marker.
+         */
+        private static final long serialVersionUID = 0x7a3c91e45b28d016L;
+
+        /**
+         * Name of the attribute.
+         */
+        private final String name;
+
+        /**
+         * The map it was looked for in.
+         */
+        private final transient MfMap map;
+
+        /**
+         * Ctor.
+         * @param attr Name of the attribute
+         * @param attrs The map it was looked for in
+         */
+        AbsentAttributeException(final String attr, final MfMap attrs) {
+            super();
+            this.name = attr;
+            this.map = attrs;
+        }
+
+        @Override
+        public String getMessage() {
+            final String msg;
+            if (this.map == null) {
+                msg = Logger.format(
+                    "Attribute '%s' not found in MANIFEST.MF file(s)", this.name
+                );
+            } else {
+                final Set<String> keys = new TreeSet<>(this.map.keySet());
+                msg = Logger.format(
+                    // @checkstyle LineLength (1 line)
+                    "Attribute '%s' not found in MANIFEST.MF file(s) among %d other attribute(s): %[list]s",
+                    this.name, keys.size(), keys
+                );
+            }
+            return msg;
+        }
+    }
+
+    /**
+     * Value of an attribute, converted.
+     *
+     * @since 2.1.0
+     */
+    private static final class Converted {
+
+        /**
+         * The value as it is.
+         */
+        private final String raw;
+
+        /**
+         * The value converted.
+         */
+        private final Object value;
+
+        /**
+         * Ctor.
+         * @param text The value as it is
+         * @param obj The value converted
+         */
+        Converted(final String text, final Object obj) {
+            this.raw = text;
+            this.value = obj;
+        }
+    }
+
 }
@@ -0,0 +1,127 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.manifests;
+
+/**
+ * Listener of manifests loading, to measure how long it takes.
+ *
+ * <p>Give it to {@link Manifests} and it will be told how long it took
+ * to find sources of each {@link Mfs}, how long each stream was opened
+ * and parsed, how many bytes
+ * were read from it, how many streams were duplicates of others,
+ * and how many attributes were saved and ignored. {@link BoundedMfs}
+ * tells it about streams, which didn't fit their budgets:
+ *
+ * <pre> MfMap map = new Manifests(
+ *   new HashMap&lt;&gt;(0),
+ *   new MfSettings().withListener(
+ *     new MfListener() {
+ *       &#64;Override
+ *       public void parsed(int attrs, long bytes, long nanos) {
+ *         histogram.record(nanos);
+ *       }
+ *     }
+ *   )
+ * );</pre>
+ *
+ * <p>All methods do nothing by default. Nothing is measured at all
+ * if the listener is {@link #NONE}, which is the default one.
+ *
+ * <p>Streams may be parsed in parallel, see {@link Manifests}, so the
+ * implementation must be thread-safe.
+ *
+ * <p>The singleton {@link Manifests} uses the listener of the class named
+ * in the {@code com.jcabi.manifests.listener} system property, if it's set.
+ * The class must have a public no-arguments constructor.
+ *
+ * @since 2.1.0
+ */
+public interface MfListener {
+
+    /**
+     * Listener that doesn't listen.
+     */
+    MfListener NONE = new MfListener() {
+    };
+
+    /**
+     * Sources of streams were found, by {@link Mfs#sources()}.
+     *
+     * <p>Streams are not opened yet at this moment, since sources open
+     * them when they are about to be parsed. The time of opening, which
+     * may include downloading, is in {@link #parsed(int, long, long)}.
+     *
+     * @param mfs The source of them
+     * @param streams How many sources were found
+     * @param nanos How long it took, in nanoseconds
+     */
+    default void fetched(final Mfs mfs, final int streams, final long nanos) {
+        // nothing by default
+    }
+
+    /**
+     * One stream was opened and parsed.
+     * @param attrs How many attributes were found
+     * @param bytes How many bytes were read from the stream
+     * @param nanos How long it took, opening included, in nanoseconds
+     */
+    default void parsed(final int attrs, final long bytes, final long nanos) {
+        // nothing by default
+    }
+
+    /**
+     * One stream failed to be parsed.
+     * @param error The error
+     */
+    default void failed(final Exception error) {
+        // nothing by default
+    }
+
+    /**
+     * Streams with the same main section as another stream of the same
+     * append were found, and they weren't parsed again.
+     *
+     * <p>It's told right before {@link #merged(int, int, long)}, even
+     * if there are none. Streams are deduplicated only if named sections
+     * are not kept, see {@link Manifests}.
+     *
+     * @param streams How many streams were not parsed again
+     */
+    default void deduplicated(final int streams) {
+        // nothing by default
+    }
+
+    /**
+     * One stream was skipped entirely, since even its main section
+     * didn't fit the budget, see {@link BoundedMfs}.
+     * @param budget Budget of the stream, in bytes, zero if the budget
+     *  of all streams was spent already
+     */
+    default void skipped(final long budget) {
+        // nothing by default
+    }
+
+    /**
+     * Named sections of one stream were cut off, since they didn't fit
+     * the budget, see {@link BoundedMfs}.
+     * @param budget Budget of the stream, in bytes
+     * @param bytes How many bytes of it were kept
+     */
+    default void truncated(final long budget, final long bytes) {
+        // nothing by default
+    }
+
+    /**
+     * Attributes of all streams were merged into the map.
+     * @param saved How many attributes were saved
+     * @param ignored How many attributes were ignored, since the map
+     *  already had them
+     * @param nanos How long the entire append took, in nanoseconds
+     */
+    default void merged(final int saved, final int ignored, final long nanos) {
+        // nothing by default
+    }
+
+}
@@ -5,8 +5,17 @@
 package com.jcabi.manifests;
 
 import java.io.IOException;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
 
 /**
  * Map of manifest attributes.
@@ -54,19 +63,206 @@ public interface MfMap {
     String get(String key);
 
     /**
-     * Get a copy of attributes map.
-     * @return Copy of attributes map
+     * Get attribute value by its key, ignoring case of the key.
+     *
+     * <p>Names of attributes are case-insensitive in JAR manifests,
+     * while {@link #get(String)} is not. If the key is here as it is,
+     * its value is returned. Otherwise, if there are a few keys equal
+     * to it ignoring case, the value of the first one in their natural
+     * order is returned.
+     *
+     * @param key Attribute name, in any case
+     * @return Value of the attribute, and null if attribute not found
+     * @since 2.1.0
+     */
+    default String getIgnoreCase(final String key) {
+        final Map<String, String> snapshot = this.getAsMap();
+        String value = snapshot.get(key);
+        if (value == null) {
+            String first = null;
+            for (final String name : snapshot.keySet()) {
+                if (name.equalsIgnoreCase(key)
+                    && (first == null || name.compareTo(first) < 0)) {
+                    first = name;
+                }
+            }
+            if (first != null) {
+                value = snapshot.get(first);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Get attribute value by its key, converted.
+     *
+     * <p>The value is converted on every call. Typed accessors, such as
+     * {@link #getInt(String)}, may convert it only once and keep the
+     * result while the value stays the same, as {@link Manifests} does.
+     *
+     * @param key Attribute name
+     * @param parser Converter of the value
+     * @param <T> Type of the value
+     * @return Converted value, and null if attribute not found
+     * @since 2.1.0
+     */
+    default <T> T get(final String key, final Function<String, T> parser) {
+        final String value = this.get(key);
+        T result = null;
+        if (value != null) {
+            result = parser.apply(value);
+        }
+        return result;
+    }
+
+    /**
+     * Get attribute value by its key, as a number.
+     * @param key Attribute name
+     * @return The number, and null if attribute not found
+     * @throws NumberFormatException If it's not a number
+     * @since 2.1.0
+     */
+    default Integer getInt(final String key) {
+        return this.get(key, Conversions.INT);
+    }
+
+    /**
+     * Get attribute value by its key, as an instant, for example
+     * {@code 2026-01-31T10:15:30Z}.
+     * @param key Attribute name
+     * @return The instant, and null if attribute not found
+     * @throws java.time.format.DateTimeParseException If it's not an instant
+     * @since 2.1.0
+     */
+    default Instant getInstant(final String key) {
+        return this.get(key, Conversions.INSTANT);
+    }
+
+    /**
+     * Get attribute value by its key, as a version, see {@link MfVersion}.
+     * @param key Attribute name
+     * @return The version, and null if attribute not found
+     * @throws IllegalArgumentException If it's not a version
+     * @since 2.1.0
+     */
+    default MfVersion getVersion(final String key) {
+        return this.get(key, Conversions.VERSION);
+    }
+
+    /**
+     * Get attribute value by its key, as a list of comma-separated
+     * values, trimmed, without empty ones.
+     * @param key Attribute name
+     * @return Unmodifiable list, and null if attribute not found
+     * @since 2.1.0
+     */
+    default List<String> getList(final String key) {
+        return this.get(key, Conversions.LIST);
+    }
+
+    /**
+     * Get values of a few attributes at once.
+     *
+     * <p>All of them are taken from the same snapshot, in one pass, so
+     * they are consistent even if more attributes are appended meanwhile:
+     *
+     * <pre> Map&lt;String, String&gt; build = Manifests.singleton().getAll(
+     *   "Implementation-Version", "Build-Number", "Build-Timestamp"
+     * );</pre>
+     *
+     * @param keys Attribute names
+     * @return Unmodifiable map of attributes found, in the order of names
+     * @since 2.1.0
+     */
+    default Map<String, String> getAll(final String... keys) {
+        final Map<String, String> snapshot = this.getAsMap();
+        final Map<String, String> found = new LinkedHashMap<>(keys.length << 1);
+        for (final String key : keys) {
+            final String value = snapshot.get(key);
+            if (value != null) {
+                found.put(key, value);
+            }
+        }
+        return Collections.unmodifiableMap(found);
+    }
+
+    /**
+     * Get all attributes, which names start with the prefix, for
+     * example {@code X-Build-}.
+     *
+     * <p>All of them are taken from the same snapshot, in one pass, as
+     * in {@link #getAll(String...)}. The prefix is matched ignoring
+     * case, since names of attributes are case-insensitive in JAR
+     * manifests. {@link Manifests} keeps its names sorted, so that the
+     * scan takes time proportional to the number of attributes found.
+     *
+     * @param prefix Prefix of attribute names
+     * @return Unmodifiable map of attributes found, sorted by names
+     * @since 2.1.0
+     */
+    default SortedMap<String, String> getPrefixed(final String prefix) {
+        final SortedMap<String, String> found = new TreeMap<>();
+        for (final Map.Entry<String, String> ent : this.getAsMap().entrySet()) {
+            if (ent.getKey().regionMatches(true, 0, prefix, 0, prefix.length())) {
+                found.put(ent.getKey(), ent.getValue());
+            }
+        }
+        return Collections.unmodifiableSortedMap(found);
+    }
+
+    /**
+     * Get an unmodifiable snapshot of attributes map.
+     *
+     * <p>The snapshot doesn't change when more attributes are appended.
+     *
+     * @return Unmodifiable snapshot of attributes map
      * @since 2.0
      */
     Map<String, String> getAsMap();
 
     /**
-     * Get a copy of a set of attributes keys.
-     * @return Copy of a set of attributes keys
+     * Get an unmodifiable snapshot of a set of attributes keys.
+     *
+     * <p>The snapshot doesn't change when more attributes are appended.
+     *
+     * @return Unmodifiable snapshot of a set of attributes keys
      * @since 2.0
      */
     Set<String> keySet();
 
+    /**
+     * Get sources of the attribute, if they are recorded.
+     *
+     * <p>The key of each entry is the name of the source, for example
+     * the URL of {@code MANIFEST.MF}, and the value is the value of the
+     * attribute found there, in the order they were seen. If the first
+     * one wins, which is the default policy, see {@link MfPolicy}, the
+     * first entry holds the value in the map and the others are shadowed
+     * by it.
+     *
+     * @param key Attribute name
+     * @return Sources and values, empty if they are not recorded
+     * @since 2.1.0
+     */
+    default List<Map.Entry<String, String>> origins(final String key) {
+        return Collections.emptyList();
+    }
+
+    /**
+     * Get attributes of a named section, if they are kept.
+     *
+     * <p>Named sections follow the main one in {@code MANIFEST.MF}
+     * and usually describe packages or files of the JAR, for example
+     * {@code com/example/} with its own {@code Implementation-Title}.
+     *
+     * @param name Name of the section
+     * @return Unmodifiable attributes, empty if they are not kept
+     * @since 2.1.0
+     */
+    default Map<String, String> section(final String name) {
+        return Collections.emptyMap();
+    }
+
     /**
      * Append this collection of MANIFEST.MF files.
      *
@@ -77,4 +273,20 @@ public interface MfMap {
      * @since 2.0.0
      */
     void append(Mfs mfs) throws IOException;
+
+    /**
+     * Append this collection of MANIFEST.MF files, without blocking.
+     *
+     * <p>Reading and parsing run on the executor, see {@link AsyncAppend},
+     * which also can limit the time of each source.
+     *
+     * @param mfs Content to append
+     * @param executor Executor to read and parse with
+     * @return This map, when the content is appended
+     * @since 2.1.0
+     */
+    default CompletableFuture<MfMap> append(final Mfs mfs,
+        final Executor executor) {
+        return new AsyncAppend(executor).append(this, mfs);
+    }
 }
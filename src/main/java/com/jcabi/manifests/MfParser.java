@@ -0,0 +1,344 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.manifests;
+
+import com.jcabi.log.Logger;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+/**
+ * Streaming parser of the main section of {@code MANIFEST.MF}.
+ *
+ * <p>Unlike {@link java.util.jar.Manifest}, it reads the stream only
+ * until the first blank line, where the main section ends, and doesn't
+ * parse per-entry sections at all, which may be huge in signed JARs,
+ * unless {@link #sections(Predicate)} is asked for them.
+ * Lines may end with CR, LF or CR LF, continuation lines start with a
+ * single space and are joined before UTF-8 decoding, so a multi-byte
+ * character split by a 72-byte line limit is decoded correctly.
+ * Names are case-insensitive, as the JAR specification says: if
+ * the same name is seen twice, the spelling of the first one and the
+ * value of the last one are used, like {@link java.util.jar.Manifest}
+ * does. The last line doesn't need a line break at the end.
+ *
+ * <p>The class is not thread-safe; make a new instance for each stream.
+ *
+ * @since 2.1.0
+ */
+final class MfParser {
+
+    /**
+     * Maximum length of an attribute name.
+     */
+    private static final int MAX_NAME = 70;
+
+    /**
+     * The stream.
+     */
+    private final transient InputStream input;
+
+    /**
+     * Bytes read from the stream, but not consumed yet.
+     */
+    private final transient byte[] buffer;
+
+    /**
+     * Position of the next byte in the buffer.
+     */
+    private transient int pos;
+
+    /**
+     * Number of bytes in the buffer.
+     */
+    private transient int limit;
+
+    /**
+     * Number of bytes read from the stream so far.
+     */
+    private transient long total;
+
+    /**
+     * The physical line just read.
+     */
+    private transient byte[] row;
+
+    /**
+     * The logical line, with all its continuations.
+     */
+    private transient byte[] header;
+
+    /**
+     * Ctor.
+     * @param stream The stream to parse
+     */
+    MfParser(final InputStream stream) {
+        this.input = stream;
+        this.buffer = new byte[2048];
+        this.row = new byte[128];
+        this.header = new byte[128];
+    }
+
+    /**
+     * Parse the main section.
+     * @return Attributes found
+     * @throws IOException If fails to read or the format is broken
+     */
+    public Map<String, String> main() throws IOException {
+        final Map<String, String> attrs =
+            new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        this.block(attrs, this.line());
+        return attrs;
+    }
+
+    /**
+     * Parse named sections, which follow the main one.
+     *
+     * <p>Must be called after {@link #main()}. Only the {@code Name}
+     * header of a section is decoded, in order to ask the filter; lines
+     * of sections not wanted are skipped without decoding. Sections with
+     * the same name are merged, like {@link java.util.jar.Manifest}
+     * does. The {@code Name} header itself is not in the result.
+     *
+     * @param wanted Which sections to keep, by their names
+     * @return Attributes of each section kept, by its name
+     * @throws IOException If fails to read or the format is broken
+     */
+    public Map<String, Map<String, String>> sections(
+        final Predicate<String> wanted) throws IOException {
+        final Map<String, Map<String, String>> sections = new HashMap<>(0);
+        int len = this.line();
+        while (len >= 0) {
+            if (len == 0) {
+                len = this.line();
+            } else {
+                len = this.section(sections, wanted, len);
+            }
+        }
+        return sections;
+    }
+
+    /**
+     * Parse one named section.
+     * @param sections Where to save it, if it's wanted
+     * @param wanted Which sections to keep, by their names
+     * @param first Length of its first line, already read
+     * @return Length of the line the section ended at, zero or -1
+     * @throws IOException If fails to read or the format is broken
+     */
+    private int section(final Map<String, Map<String, String>> sections,
+        final Predicate<String> wanted, final int first) throws IOException {
+        int pending = this.join(0, 0, first);
+        int len = this.line();
+        while (len > 0 && this.row[0] == ' ') {
+            pending = this.join(pending, 1, len);
+            len = this.line();
+        }
+        final Map<String, String> head =
+            new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        this.save(head, pending);
+        final String name = head.get("Name");
+        if (name == null) {
+            throw new IOException(
+                Logger.format(
+                    "section doesn't start with a name: %s", head.keySet()
+                )
+            );
+        }
+        if (!name.isEmpty() && wanted.test(name)) {
+            len = this.block(
+                sections.computeIfAbsent(
+                    name, key -> new TreeMap<>(String.CASE_INSENSITIVE_ORDER)
+                ),
+                len
+            );
+        } else {
+            while (len > 0) {
+                len = this.skip();
+            }
+        }
+        return len;
+    }
+
+    /**
+     * How many bytes were read from the stream.
+     * @return Number of bytes
+     */
+    public long bytes() {
+        return this.total;
+    }
+
+    /**
+     * Parse headers until a blank line or the end of the stream.
+     * @param attrs Where to save them
+     * @param first Length of the first line, already read
+     * @return Length of the line the block ended at, zero or -1
+     * @throws IOException If fails to read or the format is broken
+     */
+    private int block(final Map<String, String> attrs, final int first)
+        throws IOException {
+        int pending = 0;
+        int len = first;
+        while (len > 0) {
+            if (this.row[0] == ' ') {
+                if (pending == 0) {
+                    throw new IOException("misplaced continuation line");
+                }
+                pending = this.join(pending, 1, len);
+            } else {
+                if (pending > 0) {
+                    this.save(attrs, pending);
+                }
+                pending = this.join(0, 0, len);
+            }
+            len = this.line();
+        }
+        if (pending > 0) {
+            this.save(attrs, pending);
+        }
+        return len;
+    }
+
+    /**
+     * Append the physical line to the header.
+     * @param pending Length of the header so far
+     * @param from Position in the physical line to start from
+     * @param len Length of the physical line
+     * @return New length of the header
+     */
+    private int join(final int pending, final int from, final int len) {
+        final int total = pending + len - from;
+        if (total > this.header.length) {
+            this.header = Arrays.copyOf(
+                this.header, Math.max(total, this.header.length << 1)
+            );
+        }
+        System.arraycopy(this.row, from, this.header, pending, len - from);
+        return total;
+    }
+
+    /**
+     * Parse the header and save it.
+     * @param attrs Where to save
+     * @param len Length of the header
+     * @throws IOException If the header is broken
+     */
+    private void save(final Map<String, String> attrs, final int len)
+        throws IOException {
+        int colon = 0;
+        while (colon < len && this.header[colon] != ':') {
+            final byte chr = this.header[colon];
+            if (!(chr >= 'a' && chr <= 'z' || chr >= 'A' && chr <= 'Z'
+                || chr >= '0' && chr <= '9' || chr == '-' || chr == '_')) {
+                throw new IOException(
+                    Logger.format(
+                        "invalid header field name: %s",
+                        new String(this.header, 0, len, StandardCharsets.UTF_8)
+                    )
+                );
+            }
+            ++colon;
+        }
+        if (colon == 0 || colon > MfParser.MAX_NAME || colon + 1 >= len
+            || this.header[colon + 1] != ' ') {
+            throw new IOException(
+                Logger.format(
+                    "invalid header field: %s",
+                    new String(this.header, 0, len, StandardCharsets.UTF_8)
+                )
+            );
+        }
+        attrs.put(
+            new String(this.header, 0, colon, StandardCharsets.US_ASCII),
+            new String(
+                this.header, colon + 2, len - colon - 2, StandardCharsets.UTF_8
+            )
+        );
+    }
+
+    /**
+     * Read one physical line, without its line break.
+     * @return Length of the line, zero if it's blank, or -1 at the end
+     * @throws IOException If fails
+     */
+    private int line() throws IOException {
+        int chr = this.read();
+        int len = -1;
+        if (chr >= 0) {
+            len = 0;
+            while (chr >= 0 && chr != '\n' && chr != '\r') {
+                if (len == this.row.length) {
+                    this.row = Arrays.copyOf(this.row, len << 1);
+                }
+                this.row[len] = (byte) chr;
+                ++len;
+                chr = this.read();
+            }
+            if (chr == '\r' && this.fill() && this.buffer[this.pos] == '\n') {
+                ++this.pos;
+            }
+        }
+        return len;
+    }
+
+    /**
+     * Skip one physical line, without copying it.
+     * @return Length of the line, zero if it's blank, or -1 at the end
+     * @throws IOException If fails
+     */
+    private int skip() throws IOException {
+        int chr = this.read();
+        int len = -1;
+        if (chr >= 0) {
+            len = 0;
+            while (chr >= 0 && chr != '\n' && chr != '\r') {
+                ++len;
+                chr = this.read();
+            }
+            if (chr == '\r' && this.fill() && this.buffer[this.pos] == '\n') {
+                ++this.pos;
+            }
+        }
+        return len;
+    }
+
+    /**
+     * Read the next byte.
+     * @return The byte or -1 at the end of the stream
+     * @throws IOException If fails
+     */
+    private int read() throws IOException {
+        final int chr;
+        if (this.fill()) {
+            chr = this.buffer[this.pos] & 0xff;
+            ++this.pos;
+        } else {
+            chr = -1;
+        }
+        return chr;
+    }
+
+    /**
+     * Make sure there is at least one byte in the buffer.
+     * @return FALSE if the stream is over
+     * @throws IOException If fails
+     */
+    private boolean fill() throws IOException {
+        if (this.pos == this.limit) {
+            this.pos = 0;
+            this.limit = Math.max(
+                0, this.input.read(this.buffer, 0, this.buffer.length)
+            );
+            this.total += this.limit;
+        }
+        return this.pos < this.limit;
+    }
+
+}
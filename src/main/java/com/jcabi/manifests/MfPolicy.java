@@ -0,0 +1,51 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.manifests;
+
+/**
+ * Policy of merging an attribute, which the map already has.
+ *
+ * <p>{@link Manifests} asks the policy every time it meets an attribute,
+ * which is already in the map, giving it the names of sources of both
+ * values, see {@link NamedStream}. By default, the first value seen
+ * wins, see {@link #FIRST}:
+ *
+ * <pre> MfMap map = new Manifests(
+ *   new HashMap&lt;&gt;(0), new MfSettings().withPolicy(MfPolicy.LAST)
+ * );</pre>
+ *
+ * <p>Since all attributes of one {@link Manifests#append(Mfs)} replace
+ * the snapshot at once, concurrent appends never mix: the result is
+ * the same as if they were made one after another. If the order of
+ * appends is not known, use a policy which doesn't depend on it, such
+ * as {@link PriorityPolicy}.
+ *
+ * <p>The implementation must be thread-safe.
+ *
+ * @since 2.1.0
+ */
+@FunctionalInterface
+public interface MfPolicy {
+
+    /**
+     * The first value seen wins.
+     */
+    MfPolicy FIRST = (key, current, candidate) -> false;
+
+    /**
+     * The last value seen wins.
+     */
+    MfPolicy LAST = (key, current, candidate) -> true;
+
+    /**
+     * Shall the new value replace the value already in the map?
+     * @param key Name of the attribute
+     * @param current Name of the source of the value in the map
+     * @param candidate Name of the source of the new value
+     * @return TRUE if it shall
+     */
+    boolean replaces(String key, String current, String candidate);
+
+}
@@ -0,0 +1,250 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.manifests;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Maps of attributes, one per class loader.
+ *
+ * <p>In an application server, each web application has its own class
+ * loader and should see only its own manifests. The registry makes
+ * a map for each class loader when it's asked for the first time and
+ * keeps it while the class loader is alive. Class loaders are referred
+ * to weakly, so that the map is collected together with the class
+ * loader of an undeployed application:
+ *
+ * <pre> MfMap map = Manifests.scoped();
+ * map.append(new ServletMfs(context));</pre>
+ *
+ * <p>A map must not refer to its class loader strongly, otherwise
+ * it's never collected. {@link Manifests#scoped()} makes maps which
+ * refer to it weakly.
+ *
+ * <p>Lookups don't lock and don't allocate: they read the current
+ * immutable table of class loaders. The table is replaced when a new
+ * class loader comes, which is rare, or when a class loader is
+ * collected, and then all collected class loaders are dropped from it.
+ *
+ * <p>The class is thread-safe.
+ *
+ * @since 2.1.0
+ */
+public final class MfRegistry {
+
+    /**
+     * Factory of maps.
+     */
+    private final transient Function<ClassLoader, MfMap> factory;
+
+    /**
+     * Table of class loaders, an immutable snapshot.
+     */
+    private final transient AtomicReference<MfRegistry.Entry[]> table;
+
+    /**
+     * Queue of collected class loaders.
+     */
+    private final transient ReferenceQueue<ClassLoader> collected;
+
+    /**
+     * Ctor.
+     * @param fct Factory of maps, by class loader
+     */
+    public MfRegistry(final Function<ClassLoader, MfMap> fct) {
+        this.factory = fct;
+        this.table = new AtomicReference<>(new MfRegistry.Entry[1]);
+        this.collected = new ReferenceQueue<>();
+    }
+
+    /**
+     * The map of the context class loader of the current thread.
+     * @return The map
+     */
+    public MfMap current() {
+        return this.get(Thread.currentThread().getContextClassLoader());
+    }
+
+    /**
+     * The map of the class loader.
+     * @param ldr Class loader, or NULL for the system class loader
+     * @return The map
+     */
+    public MfMap get(final ClassLoader ldr) {
+        if (this.collected.poll() != null) {
+            this.expunge();
+        }
+        final ClassLoader key = MfRegistry.key(ldr);
+        MfMap map = MfRegistry.find(this.table.get(), key);
+        if (map == null) {
+            map = this.add(key);
+        }
+        return map;
+    }
+
+    /**
+     * Forget the map of the class loader, for example when the
+     * application is undeployed, without waiting for the collector.
+     * @param ldr Class loader, or NULL for the system class loader
+     */
+    public void remove(final ClassLoader ldr) {
+        final ClassLoader key = MfRegistry.key(ldr);
+        synchronized (this.table) {
+            this.table.set(this.rebuild(key, null));
+        }
+    }
+
+    /**
+     * Drop collected class loaders and their maps.
+     */
+    private void expunge() {
+        synchronized (this.table) {
+            Reference<? extends ClassLoader> ref = this.collected.poll();
+            while (ref != null) {
+                ref = this.collected.poll();
+            }
+            this.table.set(this.rebuild(null, null));
+        }
+    }
+
+    /**
+     * Add the map of the class loader, unless it's added already.
+     * @param key Class loader
+     * @return The map
+     */
+    private MfMap add(final ClassLoader key) {
+        synchronized (this.table) {
+            MfMap map = MfRegistry.find(this.table.get(), key);
+            if (map == null) {
+                map = this.factory.apply(key);
+                this.table.set(this.rebuild(key, map));
+            }
+            return map;
+        }
+    }
+
+    /**
+     * Make a new table of live class loaders, with or without the
+     * given one.
+     * @param key Class loader to add or remove, or NULL
+     * @param map Its map, or NULL to remove it
+     * @return The new table
+     */
+    private MfRegistry.Entry[] rebuild(final ClassLoader key, final MfMap map) {
+        final MfRegistry.Entry[] before = this.table.get();
+        int live = 0;
+        for (final MfRegistry.Entry head : before) {
+            for (MfRegistry.Entry entry = head; entry != null; entry = entry.next) {
+                final ClassLoader ldr = entry.get();
+                if (ldr != null && ldr != key) {
+                    ++live;
+                }
+            }
+        }
+        int size = 1;
+        while (size < (live + 1) * 2) {
+            size <<= 1;
+        }
+        final MfRegistry.Entry[] after = new MfRegistry.Entry[size];
+        for (final MfRegistry.Entry head : before) {
+            for (MfRegistry.Entry entry = head; entry != null; entry = entry.next) {
+                final ClassLoader ldr = entry.get();
+                if (ldr != null && ldr != key) {
+                    final int idx = entry.hash & size - 1;
+                    after[idx] = new MfRegistry.Entry(
+                        ldr, entry.hash, entry.map, after[idx], this.collected
+                    );
+                }
+            }
+        }
+        if (map != null) {
+            final int hash = System.identityHashCode(key);
+            final int idx = hash & size - 1;
+            after[idx] = new MfRegistry.Entry(
+                key, hash, map, after[idx], this.collected
+            );
+        }
+        return after;
+    }
+
+    /**
+     * Find the map of the class loader in the table.
+     * @param table The table
+     * @param key Class loader
+     * @return The map, or NULL if it's absent
+     */
+    private static MfMap find(final MfRegistry.Entry[] table,
+        final ClassLoader key) {
+        MfRegistry.Entry entry =
+            table[System.identityHashCode(key) & table.length - 1];
+        while (entry != null && entry.get() != key) {
+            entry = entry.next;
+        }
+        MfMap map = null;
+        if (entry != null) {
+            map = entry.map;
+        }
+        return map;
+    }
+
+    /**
+     * The class loader to use as a key.
+     * @param ldr Class loader, or NULL for the system class loader
+     * @return The class loader
+     */
+    private static ClassLoader key(final ClassLoader ldr) {
+        ClassLoader key = ldr;
+        if (key == null) {
+            key = ClassLoader.getSystemClassLoader();
+        }
+        return key;
+    }
+
+    /**
+     * Class loader and its map, an element of a chain.
+     *
+     * @since 2.1.0
+     */
+    private static final class Entry extends WeakReference<ClassLoader> {
+
+        /**
+         * Identity hash code of the class loader.
+         */
+        private final int hash;
+
+        /**
+         * The map.
+         */
+        private final MfMap map;
+
+        /**
+         * Next element of the chain, or NULL.
+         */
+        private final MfRegistry.Entry next;
+
+        /**
+         * Ctor.
+         * @param ldr Class loader
+         * @param code Identity hash code of it
+         * @param value The map
+         * @param tail Next element of the chain
+         * @param queue Queue of collected class loaders
+         * @checkstyle ParameterNumberCheck (5 lines)
+         */
+        Entry(final ClassLoader ldr, final int code, final MfMap value,
+            final MfRegistry.Entry tail,
+            final ReferenceQueue<ClassLoader> queue) {
+            super(ldr, queue);
+            this.hash = code;
+            this.map = value;
+            this.next = tail;
+        }
+    }
+
+}
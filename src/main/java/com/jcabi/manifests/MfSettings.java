@@ -0,0 +1,179 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.manifests;
+
+import com.jcabi.log.Logger;
+import java.util.function.Predicate;
+
+/**
+ * Settings of {@link Manifests}.
+ *
+ * <p>Each method returns new settings, with one option changed, and
+ * leaves the others as they are:
+ *
+ * <pre> MfMap map = new Manifests(
+ *   new HashMap&lt;&gt;(0),
+ *   new MfSettings().withThreads(8).withProvenance(true)
+ * );</pre>
+ *
+ * <p>By default, streams are parsed in one thread, nothing is listened
+ * to, sources of attributes are not recorded, named sections are not
+ * kept and the first value seen wins.
+ *
+ * <p>The class is immutable and thread-safe.
+ *
+ * @since 2.1.0
+ */
+public final class MfSettings {
+
+    /**
+     * Filter of named sections, which doesn't want any of them.
+     */
+    static final Predicate<String> NO_SECTIONS = name -> false;
+
+    /**
+     * How many threads to use for parsing of streams.
+     */
+    private final transient int total;
+
+    /**
+     * Listener of loading.
+     */
+    private final transient MfListener lstnr;
+
+    /**
+     * Record sources of attributes.
+     */
+    private final transient boolean trace;
+
+    /**
+     * Which named sections to keep, by their names.
+     */
+    private final transient Predicate<String> wanted;
+
+    /**
+     * Policy of merging attributes, which the map already has.
+     */
+    private final transient MfPolicy plcy;
+
+    /**
+     * Ctor.
+     */
+    public MfSettings() {
+        this(1, MfListener.NONE, false, MfSettings.NO_SECTIONS, MfPolicy.FIRST);
+    }
+
+    /**
+     * Ctor.
+     * @param threads How many threads to use for parsing of streams
+     * @param listener Listener of loading
+     * @param provenance Record sources of attributes
+     * @param sections Which named sections to keep, by their names
+     * @param policy Policy of merging attributes
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    private MfSettings(final int threads, final MfListener listener,
+        final boolean provenance, final Predicate<String> sections,
+        final MfPolicy policy) {
+        this.total = threads;
+        this.lstnr = listener;
+        this.trace = provenance;
+        this.wanted = sections;
+        this.plcy = policy;
+    }
+
+    /**
+     * With this number of threads to parse streams with, see
+     * {@link Manifests#append(Mfs)}.
+     * @param threads How many threads to use
+     * @return New settings
+     */
+    public MfSettings withThreads(final int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException(
+                Logger.format("number of threads must be positive: %d", threads)
+            );
+        }
+        return new MfSettings(threads, this.lstnr, this.trace, this.wanted, this.plcy);
+    }
+
+    /**
+     * With this listener of loading.
+     * @param listener The listener
+     * @return New settings
+     */
+    public MfSettings withListener(final MfListener listener) {
+        return new MfSettings(this.total, listener, this.trace, this.wanted, this.plcy);
+    }
+
+    /**
+     * With sources of attributes recorded, or not, see
+     * {@link Manifests#origins(String)}.
+     * @param provenance Record them
+     * @return New settings
+     */
+    public MfSettings withProvenance(final boolean provenance) {
+        return new MfSettings(this.total, this.lstnr, provenance, this.wanted, this.plcy);
+    }
+
+    /**
+     * With these named sections kept, see {@link Manifests#section(String)}.
+     * @param sections Which sections to keep, by their names
+     * @return New settings
+     */
+    public MfSettings withSections(final Predicate<String> sections) {
+        return new MfSettings(this.total, this.lstnr, this.trace, sections, this.plcy);
+    }
+
+    /**
+     * With this policy of merging attributes, which the map already has.
+     * @param policy The policy
+     * @return New settings
+     */
+    public MfSettings withPolicy(final MfPolicy policy) {
+        return new MfSettings(this.total, this.lstnr, this.trace, this.wanted, policy);
+    }
+
+    /**
+     * How many threads to use for parsing of streams.
+     * @return Number of threads
+     */
+    int threads() {
+        return this.total;
+    }
+
+    /**
+     * Listener of loading.
+     * @return The listener
+     */
+    MfListener listener() {
+        return this.lstnr;
+    }
+
+    /**
+     * Record sources of attributes.
+     * @return TRUE if they are recorded
+     */
+    boolean provenance() {
+        return this.trace;
+    }
+
+    /**
+     * Which named sections to keep.
+     * @return Filter of their names
+     */
+    Predicate<String> sections() {
+        return this.wanted;
+    }
+
+    /**
+     * Policy of merging attributes.
+     * @return The policy
+     */
+    MfPolicy policy() {
+        return this.plcy;
+    }
+
+}
@@ -0,0 +1,244 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.manifests;
+
+import com.jcabi.log.Logger;
+import java.util.Arrays;
+
+/**
+ * Version, as found in {@code Implementation-Version} and alike.
+ *
+ * <p>The version starts with numbers separated by dots, as in
+ * {@code 1.2.3}, which may be followed by an update number after an
+ * underscore, as in {@code 1.8.0_292}, and by a qualifier, as in
+ * {@code 2.0.0-SNAPSHOT} or {@code 1.0.0-rc.1}. Build metadata after
+ * {@code +} is ignored, as well as trailing zeros, so that {@code 1.0}
+ * equals {@code 1.0.0}. An update goes after the same version without
+ * it, so {@code 1.8.0_292} is newer than {@code 1.8.0}, but older than
+ * {@code 1.8.1}. Otherwise, versions are compared as in Semantic
+ * Versioning: a version with a qualifier goes before the same version
+ * without it:
+ *
+ * <pre> MfVersion version = Manifests.singleton()
+ *   .getVersion("Implementation-Version");
+ * if (version.compareTo(new MfVersion("2.0")) &lt; 0) {
+ *   // too old
+ * }</pre>
+ *
+ * <p>The class is immutable and thread-safe.
+ *
+ * @since 2.1.0
+ */
+public final class MfVersion implements Comparable<MfVersion> {
+
+    /**
+     * The version as it is.
+     */
+    private final transient String text;
+
+    /**
+     * Numbers, without trailing zeros.
+     */
+    private final transient int[] numbers;
+
+    /**
+     * Update number, zero if there is none.
+     */
+    private final transient int upd;
+
+    /**
+     * Identifiers of the qualifier, empty if there is no qualifier.
+     */
+    private final transient String[] qualifier;
+
+    /**
+     * Ctor.
+     * @param version The version, for example {@code 1.2.3-SNAPSHOT}
+     */
+    public MfVersion(final String version) {
+        int end = 0;
+        while (end < version.length()
+            && (Character.isDigit(version.charAt(end))
+            || version.charAt(end) == '.' && end > 0)) {
+            ++end;
+        }
+        final String nums = version.substring(0, end);
+        if (nums.isEmpty()) {
+            throw new IllegalArgumentException(
+                Logger.format("version doesn't start with a number: \"%s\"", version)
+            );
+        }
+        final String[] parts = nums.split("\\.");
+        int len = parts.length;
+        while (len > 1 && Integer.parseInt(parts[len - 1]) == 0) {
+            --len;
+        }
+        this.numbers = new int[len];
+        for (int idx = 0; idx < len; ++idx) {
+            this.numbers[idx] = Integer.parseInt(parts[idx]);
+        }
+        String rest = version.substring(end);
+        final int plus = rest.indexOf('+');
+        if (plus >= 0) {
+            rest = rest.substring(0, plus);
+        }
+        int digits = 0;
+        if (rest.startsWith("_")) {
+            digits = 1;
+            while (digits < rest.length() && Character.isDigit(rest.charAt(digits))) {
+                ++digits;
+            }
+        }
+        if (digits > 1) {
+            this.upd = Integer.parseInt(rest.substring(1, digits));
+            rest = rest.substring(digits);
+        } else {
+            this.upd = 0;
+        }
+        if (rest.startsWith("-") || rest.startsWith("_")) {
+            rest = rest.substring(1);
+        }
+        if (rest.isEmpty()) {
+            this.qualifier = new String[0];
+        } else {
+            this.qualifier = rest.split("\\.");
+        }
+        this.text = version;
+    }
+
+    /**
+     * Major number.
+     * @return The number
+     */
+    public int major() {
+        return this.number(0);
+    }
+
+    /**
+     * Minor number.
+     * @return The number, zero if absent
+     */
+    public int minor() {
+        return this.number(1);
+    }
+
+    /**
+     * Patch number.
+     * @return The number, zero if absent
+     */
+    public int patch() {
+        return this.number(2);
+    }
+
+    /**
+     * Update number, for example {@code 292} in {@code 1.8.0_292}.
+     * @return The number, zero if absent
+     */
+    public int update() {
+        return this.upd;
+    }
+
+    /**
+     * Qualifier, for example {@code SNAPSHOT}.
+     * @return The qualifier, empty if absent
+     */
+    public String qualifier() {
+        return String.join(".", this.qualifier);
+    }
+
+    @Override
+    public int compareTo(final MfVersion other) {
+        int result = 0;
+        final int len = Math.max(this.numbers.length, other.numbers.length);
+        for (int idx = 0; idx < len && result == 0; ++idx) {
+            result = Integer.compare(this.number(idx), other.number(idx));
+        }
+        if (result == 0) {
+            result = Integer.compare(this.upd, other.upd);
+        }
+        if (result == 0) {
+            if (this.qualifier.length == 0 || other.qualifier.length == 0) {
+                result = Integer.compare(
+                    other.qualifier.length, this.qualifier.length
+                );
+            } else {
+                result = MfVersion.compare(this.qualifier, other.qualifier);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        return this == obj || obj instanceof MfVersion
+            && this.compareTo((MfVersion) obj) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(this.numbers) * 31 + this.upd;
+    }
+
+    @Override
+    public String toString() {
+        return this.text;
+    }
+
+    /**
+     * Number at the position.
+     * @param pos The position
+     * @return The number, zero if absent
+     */
+    private int number(final int pos) {
+        int num = 0;
+        if (pos < this.numbers.length) {
+            num = this.numbers[pos];
+        }
+        return num;
+    }
+
+    /**
+     * Compare qualifiers, identifier by identifier: numeric ones
+     * numerically and before others, others as strings.
+     * @param left Identifiers of the qualifier
+     * @param right Identifiers of the other qualifier
+     * @return Result of comparison
+     */
+    private static int compare(final String[] left, final String[] right) {
+        int result = 0;
+        final int len = Math.min(left.length, right.length);
+        for (int idx = 0; idx < len && result == 0; ++idx) {
+            final boolean lnum = MfVersion.numeric(left[idx]);
+            final boolean rnum = MfVersion.numeric(right[idx]);
+            if (lnum && rnum) {
+                result = Long.compare(
+                    Long.parseLong(left[idx]), Long.parseLong(right[idx])
+                );
+            } else if (lnum || rnum) {
+                result = Boolean.compare(rnum, lnum);
+            } else {
+                result = left[idx].compareTo(right[idx]);
+            }
+        }
+        if (result == 0) {
+            result = Integer.compare(left.length, right.length);
+        }
+        return result;
+    }
+
+    /**
+     * Is it a number?
+     * @param ident The identifier
+     * @return TRUE if it consists of digits only
+     */
+    private static boolean numeric(final String ident) {
+        boolean digits = !ident.isEmpty() && ident.length() < 19;
+        for (int idx = 0; idx < ident.length() && digits; ++idx) {
+            digits = Character.isDigit(ident.charAt(idx));
+        }
+        return digits;
+    }
+
+}
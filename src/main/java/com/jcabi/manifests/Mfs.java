@@ -6,6 +6,7 @@ package com.jcabi.manifests;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Collection;
 
 /**
@@ -23,4 +24,43 @@ public interface Mfs {
      */
     Collection<InputStream> fetch() throws IOException;
 
+    /**
+     * Find them all, but don't open yet.
+     *
+     * <p>{@link Manifests#append(Mfs)} opens each of them only when it's
+     * about to be parsed and closes it right after, so that no more
+     * streams are open at the same time than there are threads parsing
+     * them. By default, all of them are fetched at once,
+     * by {@link #fetch()}.
+     *
+     * @return Sources of manifests, in order
+     * @throws IOException If fails
+     * @since 2.1.0
+     */
+    default Collection<Mfs.Source> sources() throws IOException {
+        final Collection<InputStream> streams = this.fetch();
+        final Collection<Mfs.Source> sources = new ArrayList<>(streams.size());
+        for (final InputStream stream : streams) {
+            sources.add(() -> stream);
+        }
+        return sources;
+    }
+
+    /**
+     * Source of one manifest, not open yet.
+     *
+     * @since 2.1.0
+     */
+    @FunctionalInterface
+    interface Source {
+
+        /**
+         * Open it.
+         * @return The stream, to be closed by the caller
+         * @throws IOException If fails
+         */
+        InputStream open() throws IOException;
+
+    }
+
 }
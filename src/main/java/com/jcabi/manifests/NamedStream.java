@@ -0,0 +1,53 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.manifests;
+
+import java.io.FilterInputStream;
+import java.io.InputStream;
+
+/**
+ * Stream of {@code MANIFEST.MF}, which knows where it came from.
+ *
+ * <p>{@link Mfs} may return such streams from {@link Mfs#fetch()} and
+ * {@link Mfs.Source#open()}, in order to let {@link Manifests} record
+ * the source of each attribute, see {@link MfMap#origins(String)}.
+ * All of {@link Mfs} in this package, which read manifests by URL,
+ * do so:
+ *
+ * <pre> new NamedStream(url.toString(), url.openStream())</pre>
+ *
+ * @since 2.1.0
+ */
+public final class NamedStream extends FilterInputStream {
+
+    /**
+     * Name of the source.
+     */
+    private final String source;
+
+    /**
+     * Ctor.
+     * @param name Name of the source, for example URL of the JAR
+     * @param stream The stream
+     */
+    public NamedStream(final String name, final InputStream stream) {
+        super(stream);
+        this.source = name;
+    }
+
+    /**
+     * Name of the source.
+     * @return The name
+     */
+    public String name() {
+        return this.source;
+    }
+
+    @Override
+    public String toString() {
+        return this.source;
+    }
+
+}
@@ -0,0 +1,50 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.manifests;
+
+import java.util.function.ToIntBiFunction;
+
+/**
+ * Policy, which lets the value of the source with the highest priority win.
+ *
+ * <p>The priority is calculated for each attribute and its source, so
+ * different sources may win different attributes:
+ *
+ * <pre> new PriorityPolicy(
+ *   (key, source) -&gt; source.contains("/app/") ? 1 : 0
+ * );</pre>
+ *
+ * <p>If priorities are equal, the first value seen wins. The result
+ * doesn't depend on the order of sources, if priorities of all
+ * sources of an attribute are different.
+ *
+ * <p>The class is immutable and thread-safe, if the function is.
+ *
+ * @since 2.1.0
+ */
+public final class PriorityPolicy implements MfPolicy {
+
+    /**
+     * Priority of an attribute of a source.
+     */
+    private final transient ToIntBiFunction<String, String> rank;
+
+    /**
+     * Ctor.
+     * @param func Priority of an attribute, by its name and the name of
+     *  its source
+     */
+    public PriorityPolicy(final ToIntBiFunction<String, String> func) {
+        this.rank = func;
+    }
+
+    @Override
+    public boolean replaces(final String key, final String current,
+        final String candidate) {
+        return this.rank.applyAsInt(key, candidate)
+            > this.rank.applyAsInt(key, current);
+    }
+
+}
@@ -0,0 +1,173 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.manifests;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sources of all attributes, an immutable snapshot.
+ *
+ * <p>Names of sources are kept only once and referenced by their
+ * index, so that a thousand of attributes from one JAR don't keep
+ * a thousand of copies of its URL. Values are interned, since most
+ * of the shadowed ones are the same in all JARs.
+ *
+ * @since 2.1.0
+ */
+final class Provenance {
+
+    /**
+     * Names of sources, in the order they were seen.
+     */
+    private final String[] sources;
+
+    /**
+     * Index of each source in {@link #sources}.
+     */
+    private final Map<String, Integer> indices;
+
+    /**
+     * Trace of each attribute.
+     */
+    private final Map<String, Trace> traces;
+
+    /**
+     * Ctor.
+     */
+    Provenance() {
+        this(new String[0], Collections.emptyMap(), Collections.emptyMap());
+    }
+
+    /**
+     * Ctor.
+     * @param names Names of sources
+     * @param idx Index of each source
+     * @param map Trace of each attribute
+     */
+    private Provenance(final String[] names, final Map<String, Integer> idx,
+        final Map<String, Trace> map) {
+        this.sources = names;
+        this.indices = idx;
+        this.traces = map;
+    }
+
+    /**
+     * Add attributes of more sources.
+     * @param names Names of the sources
+     * @param parsed Attributes of each source, in the same order
+     * @param pool Pool to intern values with
+     * @return New provenance
+     */
+    public Provenance with(final List<String> names,
+        final List<Map<String, String>> parsed, final StringPool pool) {
+        final List<String> all = new ArrayList<>(Arrays.asList(this.sources));
+        final Map<String, Integer> idx = new HashMap<>(this.indices);
+        final Map<String, Trace> map = new HashMap<>(this.traces);
+        for (int pos = 0; pos < parsed.size(); ++pos) {
+            final String name = names.get(pos);
+            Integer index = idx.get(name);
+            if (index == null) {
+                index = all.size();
+                all.add(name);
+                idx.put(name, index);
+            }
+            for (final Map.Entry<String, String> attr : parsed.get(pos).entrySet()) {
+                final String value = pool.intern(attr.getValue());
+                final Trace before = map.get(attr.getKey());
+                if (before == null) {
+                    map.put(pool.intern(attr.getKey()), new Trace(index, value));
+                } else {
+                    map.put(attr.getKey(), before.with(index, value));
+                }
+            }
+        }
+        return new Provenance(
+            all.toArray(new String[0]),
+            Collections.unmodifiableMap(idx),
+            Collections.unmodifiableMap(map)
+        );
+    }
+
+    /**
+     * Sources of the attribute and its values.
+     * @param key Name of the attribute
+     * @return Source and value, in the order they were seen
+     */
+    public List<Map.Entry<String, String>> origins(final String key) {
+        final Trace trace = this.traces.get(key);
+        final List<Map.Entry<String, String>> origins;
+        if (trace == null) {
+            origins = Collections.emptyList();
+        } else {
+            origins = new ArrayList<>(trace.values.length);
+            for (int pos = 0; pos < trace.values.length; ++pos) {
+                origins.add(
+                    new AbstractMap.SimpleImmutableEntry<>(
+                        this.sources[trace.sources[pos]], trace.values[pos]
+                    )
+                );
+            }
+        }
+        return Collections.unmodifiableList(origins);
+    }
+
+    /**
+     * Sources and values of one attribute.
+     *
+     * @since 2.1.0
+     */
+    private static final class Trace {
+
+        /**
+         * Index of the source of each value.
+         */
+        private final int[] sources;
+
+        /**
+         * Values, in the order they were seen.
+         */
+        private final String[] values;
+
+        /**
+         * Ctor.
+         * @param source Index of the source
+         * @param value The value
+         */
+        Trace(final int source, final String value) {
+            this(new int[] {source}, new String[] {value});
+        }
+
+        /**
+         * Ctor.
+         * @param srcs Index of the source of each value
+         * @param vals Values
+         */
+        private Trace(final int[] srcs, final String[] vals) {
+            this.sources = srcs;
+            this.values = vals;
+        }
+
+        /**
+         * Add one more value, seen after the previous ones.
+         * @param source Index of the source
+         * @param value The value
+         * @return New trace
+         */
+        Trace with(final int source, final String value) {
+            final int[] srcs = Arrays.copyOf(this.sources, this.sources.length + 1);
+            srcs[this.sources.length] = source;
+            final String[] vals = Arrays.copyOf(this.values, this.values.length + 1);
+            vals[this.values.length] = value;
+            return new Trace(srcs, vals);
+        }
+    }
+
+}
@@ -0,0 +1,348 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.manifests;
+
+import com.jcabi.log.Logger;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Manifests in directories, reloaded when files change.
+ *
+ * <p>All JARs and {@code *.MF} files in the directories are read, in the
+ * order of their paths, and the first attribute seen wins, as with
+ * {@link FilesMfs}. Then the directories are watched by
+ * {@link WatchService}: when a file is created, changed or deleted, only
+ * this file is parsed again and a new immutable snapshot of attributes
+ * replaces the old one atomically. Readers never block and never see
+ * a half-updated map:
+ *
+ * <pre> ReloadingManifests map = new ReloadingManifests(
+ *   Collections.singleton(new File("plugins"))
+ * );
+ * map.get("Plugin-Version");
+ * map.close();</pre>
+ *
+ * <p>If a file can't be parsed, for example because it's still being
+ * copied, its previous attributes are kept until it changes again.
+ * Attributes appended by {@link #append(Mfs)} are kept too, behind the
+ * attributes of the files.
+ *
+ * <p>Nothing is read and no thread is started until the map is asked
+ * for an attribute. Close the map to stop watching. The map keeps the
+ * attributes it has, after it's closed. If it's closed before the first
+ * request, the files are read once, when they are asked for, and the
+ * watcher is never started.
+ *
+ * <p>The class is thread-safe.
+ *
+ * @since 2.1.0
+ */
+public final class ReloadingManifests implements MfMap, Closeable,
+    AsyncAppend.Target {
+
+    /**
+     * Directories to watch.
+     */
+    private final transient Collection<Path> dirs;
+
+    /**
+     * Attributes appended.
+     */
+    private final transient MfMap appended;
+
+    /**
+     * Attributes of each file, in the order of paths.
+     */
+    private final transient Map<Path, Map<String, String>> files;
+
+    /**
+     * All attributes, an immutable snapshot, NULL until the first request.
+     */
+    private final transient AtomicReference<Map<String, String>> snapshot;
+
+    /**
+     * The watcher, NULL until the first request.
+     */
+    private final transient AtomicReference<WatchService> watcher;
+
+    /**
+     * The map is closed.
+     */
+    private final transient AtomicBoolean closed;
+
+    /**
+     * Ctor.
+     * @param list Directories to watch
+     */
+    public ReloadingManifests(final Collection<File> list) {
+        final Collection<Path> paths = new ArrayList<>(list.size());
+        for (final File dir : list) {
+            paths.add(dir.toPath());
+        }
+        this.dirs = Collections.unmodifiableCollection(paths);
+        this.appended = new Manifests();
+        this.files = new TreeMap<>();
+        this.snapshot = new AtomicReference<>();
+        this.watcher = new AtomicReference<>();
+        this.closed = new AtomicBoolean();
+    }
+
+    @Override
+    public int size() {
+        return this.map().size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.map().isEmpty();
+    }
+
+    @Override
+    public boolean containsKey(final String key) {
+        return this.map().containsKey(key);
+    }
+
+    @Override
+    public boolean containsValue(final String value) {
+        return this.map().containsValue(value);
+    }
+
+    @Override
+    public String get(final String key) {
+        return this.map().get(key);
+    }
+
+    @Override
+    public Map<String, String> getAsMap() {
+        return this.map();
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return this.map().keySet();
+    }
+
+    @Override
+    public void append(final Mfs mfs) throws IOException {
+        this.map();
+        this.appended.append(mfs);
+        synchronized (this.files) {
+            this.publish();
+        }
+    }
+
+    @Override
+    public MfMap target() {
+        this.map();
+        return this.appended;
+    }
+
+    @Override
+    public void appended() {
+        synchronized (this.files) {
+            this.publish();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (this.files) {
+            this.closed.set(true);
+            final WatchService service = this.watcher.get();
+            if (service != null) {
+                service.close();
+            }
+        }
+    }
+
+    /**
+     * Get the snapshot, loading everything and starting the watcher if
+     * it's the first request.
+     * @return The snapshot
+     */
+    private Map<String, String> map() {
+        Map<String, String> map = this.snapshot.get();
+        if (map == null) {
+            synchronized (this.files) {
+                map = this.snapshot.get();
+                if (map == null) {
+                    if (!this.closed.get()) {
+                        this.start();
+                    }
+                    this.scan();
+                    map = this.snapshot.get();
+                }
+            }
+        }
+        return map;
+    }
+
+    /**
+     * Start watching the directories.
+     */
+    private void start() {
+        try {
+            final WatchService service =
+                FileSystems.getDefault().newWatchService();
+            for (final Path dir : this.dirs) {
+                if (Files.isDirectory(dir)) {
+                    dir.register(
+                        service,
+                        StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY,
+                        StandardWatchEventKinds.ENTRY_DELETE
+                    );
+                }
+            }
+            this.watcher.set(service);
+            final Thread thread = new Thread(
+                () -> this.watch(service),
+                Logger.format("%s-watcher", this.getClass().getSimpleName())
+            );
+            thread.setDaemon(true);
+            thread.start();
+        } catch (final IOException ex) {
+            Logger.error(
+                this, "#start(): can't watch %[list]s %[exception]s",
+                this.dirs, ex
+            );
+        }
+    }
+
+    /**
+     * Watch the directories until the watcher is closed.
+     * @param service The watcher
+     */
+    private void watch(final WatchService service) {
+        try {
+            while (true) {
+                final WatchKey key = service.take();
+                final Path dir = (Path) key.watchable();
+                synchronized (this.files) {
+                    for (final WatchEvent<?> event : key.pollEvents()) {
+                        if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                            this.files.clear();
+                            this.scan();
+                        } else {
+                            this.reload(dir.resolve((Path) event.context()));
+                        }
+                    }
+                    this.publish();
+                }
+                key.reset();
+            }
+        } catch (final ClosedWatchServiceException ex) {
+            Logger.debug(this, "#watch(): stopped watching %[list]s", this.dirs);
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Read all files in all directories and publish the snapshot.
+     */
+    private void scan() {
+        for (final Path dir : this.dirs) {
+            if (Files.isDirectory(dir)) {
+                try (DirectoryStream<Path> paths = Files.newDirectoryStream(dir)) {
+                    for (final Path path : paths) {
+                        this.reload(path);
+                    }
+                } catch (final IOException ex) {
+                    Logger.error(
+                        this, "#scan(): can't list %s %[exception]s", dir, ex
+                    );
+                }
+            }
+        }
+        this.publish();
+    }
+
+    /**
+     * Parse the file again, or forget it if it's deleted.
+     * @param path The file
+     */
+    private void reload(final Path path) {
+        final String name = path.getFileName().toString()
+            .toLowerCase(Locale.ENGLISH);
+        if (name.endsWith(".jar") || name.endsWith(".mf")) {
+            if (Files.isRegularFile(path)) {
+                try (InputStream input = ReloadingManifests.open(path, name)) {
+                    this.files.put(path, new MfParser(input).main());
+                } catch (final IOException ex) {
+                    Logger.warn(
+                        this, "#reload(): can't read %s, kept as it was: %s",
+                        path, ex.getMessage()
+                    );
+                }
+            } else {
+                this.files.remove(path);
+            }
+        }
+    }
+
+    /**
+     * Open the manifest of the file.
+     * @param path The file
+     * @param name Its name, in lower case
+     * @return The manifest, read only as far as it's parsed
+     * @throws IOException If fails
+     */
+    private static InputStream open(final Path path, final String name)
+        throws IOException {
+        final InputStream input;
+        if (name.endsWith(".jar")) {
+            input = new JarManifest(path.toFile()).stream();
+        } else {
+            input = Files.newInputStream(path);
+        }
+        return input;
+    }
+
+    /**
+     * Merge attributes of all files and appended ones and replace the
+     * snapshot.
+     */
+    private void publish() {
+        final Map<String, String> all = new HashMap<>(0);
+        for (final Map<String, String> attrs : this.files.values()) {
+            for (final Map.Entry<String, String> attr : attrs.entrySet()) {
+                all.putIfAbsent(attr.getKey(), attr.getValue());
+            }
+        }
+        for (final Map.Entry<String, String> attr
+            : this.appended.getAsMap().entrySet()) {
+            all.putIfAbsent(attr.getKey(), attr.getValue());
+        }
+        this.snapshot.set(Collections.unmodifiableMap(all));
+        Logger.debug(
+            this, "%d attribute(s) of %d file(s) published",
+            all.size(), this.files.size()
+        );
+    }
+
+}
@@ -4,11 +4,8 @@
  */
 package com.jcabi.manifests;
 
-import com.jcabi.log.Logger;
 import java.io.IOException;
 import java.io.InputStream;
-import java.net.URL;
-import java.util.ArrayList;
 import java.util.Collection;
 import javax.servlet.ServletContext;
 
@@ -24,6 +21,12 @@ import javax.servlet.ServletContext;
  *
  * <pre> Manifests.append(new ServletMfs(context));</pre>
  *
+ * <p>Manifests of libraries in {@code /WEB-INF/lib/} may be read too,
+ * without scanning all libraries of the server, as the class loader
+ * of the container would do for {@link ClasspathMfs}:
+ *
+ * <pre> Manifests.singleton().append(new ServletMfs(context, true));</pre>
+ *
  * <p>The class is thread-safe.
  *
  * @since 1.0
@@ -31,28 +34,39 @@ import javax.servlet.ServletContext;
 public final class ServletMfs implements Mfs {
 
     /**
-     * Servlet context.
+     * Manifests of the web application.
      */
-    private final transient ServletContext ctx;
+    private final transient Mfs origin;
 
     /**
      * Ctor.
      * @param context Context
      */
     public ServletMfs(final ServletContext context) {
-        this.ctx = context;
+        this(context, false);
+    }
+
+    /**
+     * Ctor.
+     * @param context Context
+     * @param libs Read manifests of {@code /WEB-INF/lib/*.jar} too
+     * @since 2.1.0
+     */
+    public ServletMfs(final ServletContext context, final boolean libs) {
+        this.origin = new WebAppMfs(
+            context::getResource, context::getResourcePaths,
+            context::getRealPath, libs
+        );
     }
 
     @Override
     public Collection<InputStream> fetch() throws IOException {
-        final URL main = this.ctx.getResource("/META-INF/MANIFEST.MF");
-        final Collection<InputStream> streams = new ArrayList<>(1);
-        if (main == null) {
-            Logger.warn(this, "MANIFEST.MF not found in WAR package");
-        } else {
-            streams.add(main.openStream());
-        }
-        return streams;
+        return this.origin.fetch();
+    }
+
+    @Override
+    public Collection<Mfs.Source> sources() throws IOException {
+        return this.origin.sources();
     }
 
 }
@@ -0,0 +1,60 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.manifests;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Manifests in sources, which are not open yet.
+ *
+ * <p>{@link #fetch()} opens all of them at once, for those who don't
+ * use {@link #sources()}. If one of them fails to open, those already
+ * open are closed.
+ *
+ * <p>The class is immutable and thread-safe.
+ *
+ * @since 2.1.0
+ */
+final class SourcesMfs implements Mfs {
+
+    /**
+     * The sources.
+     */
+    private final transient Collection<Mfs.Source> list;
+
+    /**
+     * Ctor.
+     * @param srcs The sources
+     */
+    SourcesMfs(final Collection<Mfs.Source> srcs) {
+        this.list = Collections.unmodifiableCollection(srcs);
+    }
+
+    @Override
+    public Collection<InputStream> fetch() throws IOException {
+        final Collection<InputStream> streams = new ArrayList<>(this.list.size());
+        try {
+            for (final Mfs.Source source : this.list) {
+                streams.add(source.open());
+            }
+        } catch (final IOException ex) {
+            for (final InputStream stream : streams) {
+                stream.close();
+            }
+            throw ex;
+        }
+        return streams;
+    }
+
+    @Override
+    public Collection<Mfs.Source> sources() {
+        return this.list;
+    }
+
+}
@@ -0,0 +1,107 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.manifests;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.jar.Attributes;
+
+/**
+ * Pool of strings kept by a map of attributes.
+ *
+ * <p>Every JAR repeats the same names of attributes and many of their
+ * values, such as {@code Created-By: Apache Maven} or the version
+ * of JDK. The pool keeps one copy of each. Well-known names are taken
+ * from {@link Attributes.Name} constants and shared by all pools.
+ *
+ * <p>Strings are referenced weakly, so the pool forgets those which
+ * the map doesn't keep anymore, for example values replaced by later
+ * ones under {@link MfPolicy#LAST}, once they are collected.
+ *
+ * <p>The class is thread-safe.
+ *
+ * @since 2.1.0
+ */
+final class StringPool {
+
+    /**
+     * Well-known names of attributes.
+     */
+    private static final Map<String, String> KNOWN = StringPool.known(
+        Attributes.Name.MANIFEST_VERSION.toString(),
+        Attributes.Name.SIGNATURE_VERSION.toString(),
+        Attributes.Name.CONTENT_TYPE.toString(),
+        Attributes.Name.CLASS_PATH.toString(),
+        Attributes.Name.MAIN_CLASS.toString(),
+        Attributes.Name.SEALED.toString(),
+        Attributes.Name.EXTENSION_LIST.toString(),
+        Attributes.Name.EXTENSION_NAME.toString(),
+        Attributes.Name.IMPLEMENTATION_TITLE.toString(),
+        Attributes.Name.IMPLEMENTATION_VERSION.toString(),
+        Attributes.Name.IMPLEMENTATION_VENDOR.toString(),
+        Attributes.Name.SPECIFICATION_TITLE.toString(),
+        Attributes.Name.SPECIFICATION_VERSION.toString(),
+        Attributes.Name.SPECIFICATION_VENDOR.toString(),
+        "Automatic-Module-Name", "Build-Jdk", "Build-Jdk-Spec", "Built-By",
+        "Bundle-ManifestVersion", "Bundle-Name", "Bundle-SymbolicName",
+        "Bundle-Version", "Created-By", "Export-Package", "Import-Package",
+        "Multi-Release", "Name"
+    );
+
+    /**
+     * Strings seen, which are still in use.
+     */
+    private final transient Map<String, WeakReference<String>> strings;
+
+    /**
+     * Ctor.
+     */
+    StringPool() {
+        this.strings = new WeakHashMap<>(0);
+    }
+
+    /**
+     * The copy of the string, kept by the pool.
+     * @param text The string, may be NULL
+     * @return The same string, maybe another instance of it
+     */
+    public String intern(final String text) {
+        String interned = text;
+        if (text != null) {
+            interned = StringPool.KNOWN.get(text);
+            if (interned == null) {
+                synchronized (this.strings) {
+                    final WeakReference<String> ref = this.strings.get(text);
+                    if (ref != null) {
+                        interned = ref.get();
+                    }
+                    if (interned == null) {
+                        interned = text;
+                        this.strings.put(text, new WeakReference<>(text));
+                    }
+                }
+            }
+        }
+        return interned;
+    }
+
+    /**
+     * Make a map of well-known names.
+     * @param names The names
+     * @return Each name mapped to itself
+     */
+    private static Map<String, String> known(final String... names) {
+        final Map<String, String> map = new HashMap<>(names.length * 2);
+        for (final String name : Arrays.asList(names)) {
+            map.put(name, name);
+        }
+        return Collections.unmodifiableMap(map);
+    }
+
+}
@@ -0,0 +1,206 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.manifests;
+
+import com.jcabi.log.Logger;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Manifests in a web application, whatever its servlet API is.
+ *
+ * <p>It's the common part of {@link ServletMfs} and
+ * {@link JakartaServletMfs}, which only tell how to get resources
+ * from their servlet contexts.
+ *
+ * <p>The manifest of the WAR goes first. Then, if asked, the manifests
+ * of all {@code /WEB-INF/lib/*.jar}, in the order of their names. Each
+ * of them is read only when it's about to be parsed and only its
+ * manifest is read: directly from the file through the central directory
+ * of the JAR, if the WAR is exploded, or by streaming entries of the JAR
+ * until the manifest is met, otherwise. Either way, the manifest is
+ * inflated only as much as the parser asks for. JARs which can't be
+ * opened are ignored with a warning.
+ *
+ * <p>The class is immutable and thread-safe.
+ *
+ * @since 2.1.0
+ */
+final class WebAppMfs implements Mfs {
+
+    /**
+     * Directory with libraries.
+     */
+    private static final String LIB = "/WEB-INF/lib/";
+
+    /**
+     * Resource by its path.
+     */
+    private final transient WebAppMfs.Resource resource;
+
+    /**
+     * Resources in the directory, by its path.
+     */
+    private final transient Function<String, Collection<?>> listing;
+
+    /**
+     * File of the resource by its path, NULL if it's not in a file.
+     */
+    private final transient Function<String, String> files;
+
+    /**
+     * Read libraries too.
+     */
+    private final transient boolean libs;
+
+    /**
+     * Ctor.
+     * @param rsrc Resource by its path
+     * @param list Resources in the directory, by its path
+     * @param real File of the resource by its path
+     * @param all Read {@code /WEB-INF/lib/*.jar} too
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    WebAppMfs(final WebAppMfs.Resource rsrc,
+        final Function<String, Collection<?>> list,
+        final Function<String, String> real, final boolean all) {
+        this.resource = rsrc;
+        this.listing = list;
+        this.files = real;
+        this.libs = all;
+    }
+
+    @Override
+    public Collection<InputStream> fetch() throws IOException {
+        return new SourcesMfs(this.sources()).fetch();
+    }
+
+    @Override
+    public Collection<Mfs.Source> sources() throws IOException {
+        final URL main = this.resource.get("/META-INF/MANIFEST.MF");
+        final Collection<Mfs.Source> sources = new ArrayList<>(1);
+        if (main == null) {
+            Logger.warn(this, "MANIFEST.MF not found in WAR package");
+        } else {
+            sources.add(() -> new NamedStream(main.toString(), main.openStream()));
+        }
+        if (this.libs) {
+            for (final String path : this.jars()) {
+                sources.add(() -> this.open(path));
+            }
+        }
+        return sources;
+    }
+
+    /**
+     * Paths of all JARs in {@code /WEB-INF/lib/}.
+     * @return Paths, sorted
+     */
+    private List<String> jars() {
+        final List<String> jars = new ArrayList<>(0);
+        final Collection<?> paths = this.listing.apply(WebAppMfs.LIB);
+        if (paths != null) {
+            for (final Object path : paths) {
+                final String name = path.toString();
+                if (name.toLowerCase(Locale.ENGLISH).endsWith(".jar")) {
+                    jars.add(name);
+                }
+            }
+        }
+        Collections.sort(jars);
+        return jars;
+    }
+
+    /**
+     * Read the manifest of the JAR.
+     * @param path Path of the JAR in the web application
+     * @return The manifest, empty if there is none or it can't be read
+     * @throws IOException If fails
+     */
+    private InputStream open(final String path) throws IOException {
+        final String real = this.files.apply(path);
+        String name = path;
+        InputStream stream = new ByteArrayInputStream(new byte[0]);
+        try {
+            if (real != null && new File(real).isFile()) {
+                name = real;
+                stream = new JarManifest(new File(real)).stream();
+            } else {
+                final URL url = this.resource.get(path);
+                if (url != null) {
+                    name = url.toString();
+                    stream = WebAppMfs.manifest(url);
+                }
+            }
+        } catch (final IOException ex) {
+            Logger.warn(
+                this, "#open(): can't read %s, ignored: %s",
+                name, ex.getMessage()
+            );
+        }
+        return new NamedStream(name, stream);
+    }
+
+    /**
+     * Open the manifest of the JAR, skipping entries in front of it.
+     *
+     * <p>The manifest is usually one of the first entries, but not
+     * always, so all entries are looked through, until it's met.
+     *
+     * @param url URL of the JAR
+     * @return The manifest, empty if there is none, must be closed
+     * @throws IOException If fails
+     */
+    private static InputStream manifest(final URL url) throws IOException {
+        final ZipInputStream zip = new ZipInputStream(url.openStream());
+        InputStream stream = null;
+        try {
+            ZipEntry entry = zip.getNextEntry();
+            while (entry != null
+                && !"META-INF/MANIFEST.MF".equalsIgnoreCase(entry.getName())) {
+                entry = zip.getNextEntry();
+            }
+            if (entry != null) {
+                stream = zip;
+            }
+        } finally {
+            if (stream == null) {
+                zip.close();
+            }
+        }
+        if (stream == null) {
+            stream = new ByteArrayInputStream(new byte[0]);
+        }
+        return stream;
+    }
+
+    /**
+     * Resource of the web application by its path.
+     *
+     * @since 2.1.0
+     */
+    @FunctionalInterface
+    interface Resource {
+        /**
+         * Get URL of the resource.
+         * @param path Path of the resource, starting with slash
+         * @return URL, or NULL if there is no such resource
+         * @throws IOException If the path is malformed
+         */
+        URL get(String path) throws IOException;
+    }
+
+}
@@ -0,0 +1,295 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.manifests;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link AsyncAppend}.
+ *
+ * @since 2.1.0
+ */
+final class AsyncAppendTest {
+
+    @Test
+    void appendsOnExecutor() throws Exception {
+        final ExecutorService service = Executors.newSingleThreadExecutor();
+        final MfMap map = new Manifests();
+        MatcherAssert.assertThat(
+            "doesn't append manifests",
+            map.append(new StringMfs("Async-Key: appended\n"), service)
+                .get(10L, TimeUnit.SECONDS)
+                .get("Async-Key"),
+            Matchers.equalTo("appended")
+        );
+        service.shutdown();
+    }
+
+    @Test
+    void skipsLateSources() throws Exception {
+        final ExecutorService service = Executors.newFixedThreadPool(2);
+        final AsyncAppendTest.Stuck stuck = new AsyncAppendTest.Stuck();
+        final MfMap map = new Manifests();
+        new AsyncAppend(service, 100L, TimeUnit.MILLISECONDS)
+            .append(map, AsyncAppendTest.mfs(stuck))
+            .get(10L, TimeUnit.SECONDS);
+        MatcherAssert.assertThat(
+            "doesn't skip the late source",
+            map.keySet(),
+            Matchers.contains("Fast-Key")
+        );
+        MatcherAssert.assertThat(
+            "doesn't close the late source",
+            stuck.closed.await(10L, TimeUnit.SECONDS),
+            Matchers.is(true)
+        );
+        service.shutdown();
+    }
+
+    @Test
+    void stopsReadingWhenCancelled() throws Exception {
+        final ExecutorService service = Executors.newFixedThreadPool(2);
+        final AsyncAppendTest.Stuck stuck = new AsyncAppendTest.Stuck();
+        final MfMap map = new Manifests();
+        final CompletableFuture<MfMap> future = new AsyncAppend(service)
+            .append(map, AsyncAppendTest.mfs(stuck));
+        MatcherAssert.assertThat(
+            "doesn't start reading",
+            stuck.opened.await(10L, TimeUnit.SECONDS),
+            Matchers.is(true)
+        );
+        future.cancel(true);
+        MatcherAssert.assertThat(
+            "doesn't close the source",
+            stuck.closed.await(10L, TimeUnit.SECONDS),
+            Matchers.is(true)
+        );
+        service.shutdown();
+        service.awaitTermination(10L, TimeUnit.SECONDS);
+        MatcherAssert.assertThat(
+            "appends after cancellation",
+            map.isEmpty(),
+            Matchers.is(true)
+        );
+    }
+
+    @Test
+    void readsNoMoreSourcesThanLimit() throws Exception {
+        final ExecutorService service = Executors.newFixedThreadPool(8);
+        final AtomicInteger active = new AtomicInteger();
+        final AtomicInteger most = new AtomicInteger();
+        final Collection<Mfs.Source> sources = new ArrayList<>(8);
+        for (int idx = 0; idx < 8; ++idx) {
+            final String text = String.format("Limited-%d: %1$d\n", idx);
+            sources.add(
+                () -> {
+                    most.accumulateAndGet(active.incrementAndGet(), Math::max);
+                    return new ByteArrayInputStream(
+                        text.getBytes(StandardCharsets.UTF_8)
+                    ) {
+                        @Override
+                        public void close() {
+                            active.decrementAndGet();
+                        }
+                    };
+                }
+            );
+        }
+        final MfMap map = new Manifests();
+        new AsyncAppend(service, 0L, TimeUnit.MILLISECONDS, 2)
+            .append(map, new SourcesMfs(sources))
+            .get(10L, TimeUnit.SECONDS);
+        MatcherAssert.assertThat(
+            "doesn't read all sources",
+            map.size(),
+            Matchers.equalTo(8)
+        );
+        MatcherAssert.assertThat(
+            "reads more sources at once than allowed",
+            most.get(),
+            Matchers.lessThanOrEqualTo(2)
+        );
+        service.shutdown();
+    }
+
+    @Test
+    void readsOnlyWantedSections() throws Exception {
+        final ExecutorService service = Executors.newSingleThreadExecutor();
+        final MfMap map = new Manifests(
+            new HashMap<>(0),
+            new MfSettings().withSections(name -> name.startsWith("com/"))
+        );
+        map.append(
+            new StringMfs(
+                String.join(
+                    "\n", "Main-Key: main", "", "Name: com/foo/", "Sealed: true",
+                    "", "Name: org/bar/", "Sealed: false", ""
+                )
+            ),
+            service
+        ).get(10L, TimeUnit.SECONDS);
+        MatcherAssert.assertThat(
+            "doesn't read the wanted section",
+            map.section("com/foo/"),
+            Matchers.hasEntry("Sealed", "true")
+        );
+        MatcherAssert.assertThat(
+            "reads the section not wanted",
+            map.section("org/bar/"),
+            Matchers.anEmptyMap()
+        );
+        MatcherAssert.assertThat(
+            "doesn't read the main section",
+            map.get("Main-Key"),
+            Matchers.equalTo("main")
+        );
+        service.shutdown();
+    }
+
+    @Test
+    void waitsForLateSourceBeforeNextOne() throws Exception {
+        final ExecutorService service = Executors.newFixedThreadPool(2);
+        final CountDownLatch late = new CountDownLatch(1);
+        final AtomicInteger opened = new AtomicInteger();
+        final MfMap map = new Manifests();
+        final CompletableFuture<MfMap> future =
+            new AsyncAppend(service, 50L, TimeUnit.MILLISECONDS, 1).append(
+                map,
+                new SourcesMfs(
+                    Arrays.asList(
+                        () -> {
+                            opened.incrementAndGet();
+                            try {
+                                late.await();
+                            } catch (final InterruptedException ex) {
+                                Thread.currentThread().interrupt();
+                                throw new IOException(ex);
+                            }
+                            return new ByteArrayInputStream(new byte[0]);
+                        },
+                        () -> {
+                            opened.incrementAndGet();
+                            return new ByteArrayInputStream(
+                                "Next-Key: next\n".getBytes(StandardCharsets.UTF_8)
+                            );
+                        }
+                    )
+                )
+            );
+        TimeUnit.MILLISECONDS.sleep(300L);
+        MatcherAssert.assertThat(
+            "starts the next source while the late one is still opening",
+            opened.get(),
+            Matchers.equalTo(1)
+        );
+        late.countDown();
+        future.get(10L, TimeUnit.SECONDS);
+        MatcherAssert.assertThat(
+            "doesn't read the next source",
+            map.get("Next-Key"),
+            Matchers.equalTo("next")
+        );
+        service.shutdown();
+    }
+
+    @Test
+    void appendsThroughLazyMap() throws Exception {
+        final ExecutorService service = Executors.newSingleThreadExecutor();
+        final MfMap map = new LazyManifests(
+            new Manifests(
+                new HashMap<>(0), new MfSettings().withSections(name -> true)
+            ),
+            new URLClassLoader(new URL[0], null)
+        );
+        map.append(
+            new StringMfs("Lazy-Key: lazy\n\nName: com/lazy/\nSealed: true\n"),
+            service
+        ).get(10L, TimeUnit.SECONDS);
+        MatcherAssert.assertThat(
+            "doesn't keep the section",
+            map.section("com/lazy/"),
+            Matchers.hasEntry("Sealed", "true")
+        );
+        service.shutdown();
+    }
+
+    /**
+     * Manifests with a fast source and a stuck one.
+     * @param stuck The stuck stream
+     * @return Manifests
+     */
+    private static Mfs mfs(final InputStream stuck) {
+        return new Mfs() {
+            @Override
+            public Collection<InputStream> fetch() throws IOException {
+                return new SourcesMfs(this.sources()).fetch();
+            }
+
+            @Override
+            public Collection<Mfs.Source> sources() {
+                return Arrays.asList(
+                    () -> stuck,
+                    () -> new ByteArrayInputStream(
+                        "Fast-Key: fast\n".getBytes(StandardCharsets.UTF_8)
+                    )
+                );
+            }
+        };
+    }
+
+    /**
+     * Stream, which is never read until it's closed.
+     *
+     * @since 2.1.0
+     */
+    private static final class Stuck extends InputStream {
+
+        /**
+         * Counted down when reading starts.
+         */
+        private final CountDownLatch opened = new CountDownLatch(1);
+
+        /**
+         * Counted down when closed.
+         */
+        private final CountDownLatch closed = new CountDownLatch(1);
+
+        @Override
+        public int read() throws IOException {
+            this.opened.countDown();
+            try {
+                this.closed.await();
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IOException(ex);
+            }
+            throw new IOException("closed while reading");
+        }
+
+        @Override
+        public void close() {
+            this.closed.countDown();
+        }
+    }
+
+}
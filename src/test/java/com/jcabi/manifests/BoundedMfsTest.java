@@ -0,0 +1,180 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.manifests;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link BoundedMfs}.
+ *
+ * @since 2.1.0
+ */
+final class BoundedMfsTest {
+
+    @Test
+    void truncatesAndSkipsLargeStreams() throws Exception {
+        final StringBuilder sections = new StringBuilder(0);
+        for (int idx = 0; idx < 100; ++idx) {
+            sections.append(String.format("Name: com/example/C%d.class\nDigest: x\n\n", idx));
+        }
+        final StringBuilder huge = new StringBuilder("Huge-Key: a\n");
+        for (int idx = 0; idx < 100; ++idx) {
+            huge.append(String.format("Huge-%d: value\n", idx));
+        }
+        final BoundedMfs mfs = new BoundedMfs(
+            BoundedMfsTest.mfs(
+                "Small-Key: small\n",
+                String.join("", "Big-Key: big\n\n", sections),
+                huge.toString()
+            ),
+            200L,
+            Long.MAX_VALUE,
+            true,
+            MfListener.NONE
+        );
+        final MfMap map = new Manifests(
+            new HashMap<>(0), new MfSettings().withSections(name -> true)
+        );
+        map.append(mfs);
+        MatcherAssert.assertThat(
+            "doesn't keep main sections, which fit",
+            map.keySet(),
+            Matchers.containsInAnyOrder("Small-Key", "Big-Key")
+        );
+        MatcherAssert.assertThat(
+            "doesn't keep named sections, which fit",
+            Arrays.asList(
+                map.section("com/example/C0.class"),
+                map.section("com/example/C99.class")
+            ),
+            Matchers.contains(
+                Matchers.hasEntry("Digest", "x"),
+                Matchers.anEmptyMap()
+            )
+        );
+        MatcherAssert.assertThat(
+            "doesn't count skipped and truncated streams",
+            Arrays.asList(mfs.skipped(), mfs.truncated()),
+            Matchers.contains(1, 1)
+        );
+    }
+
+    @Test
+    void stopsWhenTotalBudgetIsSpent() throws Exception {
+        final BoundedMfs mfs = new BoundedMfs(
+            BoundedMfsTest.mfs(
+                "First-Key: 1234567890\n", "Second-Key: 1234567890\n",
+                "Third-Key: 1234567890\n"
+            ),
+            100L,
+            50L
+        );
+        final MfMap map = new Manifests();
+        map.append(mfs);
+        MatcherAssert.assertThat(
+            "reads more than the total budget",
+            map.keySet(),
+            Matchers.containsInAnyOrder("First-Key", "Second-Key")
+        );
+        MatcherAssert.assertThat(
+            "doesn't count the skipped stream",
+            mfs.skipped(),
+            Matchers.equalTo(1)
+        );
+    }
+
+    @Test
+    void countsNoTruncationWhenOnlyMainSectionIsParsed() throws Exception {
+        final AtomicInteger told = new AtomicInteger();
+        final BoundedMfs mfs = new BoundedMfs(
+            BoundedMfsTest.mfs(
+                "Main-Key: main\n\nName: com/example/Long.class\nDigest: xyz\n"
+            ),
+            20L,
+            Long.MAX_VALUE,
+            false,
+            new MfListener() {
+                @Override
+                public void truncated(final long budget, final long bytes) {
+                    told.incrementAndGet();
+                }
+            }
+        );
+        final MfMap map = new Manifests();
+        map.append(mfs);
+        MatcherAssert.assertThat(
+            "doesn't read the main section",
+            map.get("Main-Key"),
+            Matchers.equalTo("main")
+        );
+        MatcherAssert.assertThat(
+            "counts the stream as truncated",
+            Arrays.asList(mfs.truncated(), told.get()),
+            Matchers.contains(0, 0)
+        );
+    }
+
+    @Test
+    void tellsListenerAboutSkippedStreams() throws Exception {
+        final AtomicInteger told = new AtomicInteger();
+        final BoundedMfs mfs = new BoundedMfs(
+            BoundedMfsTest.mfs("Too-Long-Key: 1234567890\n", "Short: 1\n"),
+            10L,
+            Long.MAX_VALUE,
+            false,
+            new MfListener() {
+                @Override
+                public void skipped(final long budget) {
+                    told.incrementAndGet();
+                }
+            }
+        );
+        new Manifests().append(mfs);
+        MatcherAssert.assertThat(
+            "doesn't tell the listener about the skipped stream",
+            told.get(),
+            Matchers.equalTo(1)
+        );
+    }
+
+    /**
+     * Manifests in strings.
+     * @param texts The manifests
+     * @return Manifests
+     */
+    private static Mfs mfs(final String... texts) {
+        return new Mfs() {
+            @Override
+            public Collection<InputStream> fetch() throws IOException {
+                return new SourcesMfs(this.sources()).fetch();
+            }
+
+            @Override
+            public Collection<Mfs.Source> sources() {
+                final Collection<Mfs.Source> sources = new ArrayList<>(0);
+                for (final String text : texts) {
+                    sources.add(
+                        () -> new ByteArrayInputStream(
+                            text.getBytes(StandardCharsets.UTF_8)
+                        )
+                    );
+                }
+                return sources;
+            }
+        };
+    }
+
+}
@@ -0,0 +1,216 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.manifests;
+
+import java.io.File;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Proxy;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test case for {@link CachedManifests}.
+ *
+ * @since 2.1.0
+ */
+final class CachedManifestsTest {
+
+    @Test
+    void takesAttributesFromFileWhenClasspathIsTheSame(
+        @TempDir final Path dir) throws Exception {
+        final File jar = dir.resolve("a.jar").toFile();
+        Files.write(jar.toPath(), "jar".getBytes(StandardCharsets.UTF_8));
+        final File idx = dir.resolve("cache/manifests.idx").toFile();
+        final MfMap first = new Manifests();
+        first.append(new StringMfs("Cached-Key: cached value\n"));
+        MatcherAssert.assertThat(
+            "doesn't read the origin",
+            new CachedManifests(first, idx, Collections.singleton(jar))
+                .get("Cached-Key"),
+            Matchers.equalTo("cached value")
+        );
+        MatcherAssert.assertThat(
+            "doesn't take attributes from the file",
+            new CachedManifests(
+                new Manifests(), idx, Collections.singleton(jar)
+            ).get("Cached-Key"),
+            Matchers.equalTo("cached value")
+        );
+    }
+
+    @Test
+    void ignoresFileWhenClasspathChanges(@TempDir final Path dir)
+        throws Exception {
+        final File jar = dir.resolve("b.jar").toFile();
+        Files.write(jar.toPath(), "jar".getBytes(StandardCharsets.UTF_8));
+        final File idx = dir.resolve("manifests.idx").toFile();
+        new CachedManifests(
+            new Manifests(Collections.singletonMap("Old-Key", "old")),
+            idx, Collections.singleton(jar)
+        ).size();
+        Files.write(jar.toPath(), "larger jar".getBytes(StandardCharsets.UTF_8));
+        MatcherAssert.assertThat(
+            "takes stale attributes from the file",
+            new CachedManifests(
+                new Manifests(Collections.singletonMap("New-Key", "new")),
+                idx, Collections.singleton(jar)
+            ).keySet(),
+            Matchers.contains("New-Key")
+        );
+    }
+
+    @Test
+    void watchesManifestsOfClassLoader(@TempDir final Path dir)
+        throws Exception {
+        final Path manifest = dir.resolve("classes/META-INF/MANIFEST.MF");
+        Files.createDirectories(manifest.getParent());
+        Files.write(manifest, "Lib-Key: first\n".getBytes(StandardCharsets.UTF_8));
+        final File idx = dir.resolve("loader.idx").toFile();
+        try (URLClassLoader loader = new URLClassLoader(
+            new URL[] {dir.resolve("classes").toUri().toURL()}, null
+        )) {
+            new CachedManifests(
+                new LazyManifests(new Manifests(), loader), idx, loader,
+                Manifests::new
+            ).size();
+            MatcherAssert.assertThat(
+                "doesn't take attributes from the file",
+                new CachedManifests(
+                    CachedManifestsTest.untouchable(), idx, loader, Manifests::new
+                ).get("Lib-Key"),
+                Matchers.equalTo("first")
+            );
+            Files.write(
+                manifest, "Lib-Key: second, longer\n".getBytes(StandardCharsets.UTF_8)
+            );
+            MatcherAssert.assertThat(
+                "takes stale attributes from the file",
+                new CachedManifests(
+                    new LazyManifests(new Manifests(), loader), idx, loader,
+                    Manifests::new
+                ).get("Lib-Key"),
+                Matchers.equalTo("second, longer")
+            );
+        }
+    }
+
+    @Test
+    void configuresMapOfFile(@TempDir final Path dir) throws Exception {
+        final File idx = dir.resolve("configured.idx").toFile();
+        new CachedManifests(
+            new Manifests(Collections.singletonMap("Cached-Key", "cached")),
+            idx, CachedManifestsTest.class.getClassLoader(), Manifests::new
+        ).size();
+        final MfMap map = new CachedManifests(
+            CachedManifestsTest.untouchable(), idx,
+            CachedManifestsTest.class.getClassLoader(),
+            attrs -> new Manifests(
+                attrs, new MfSettings().withPolicy(MfPolicy.LAST)
+            )
+        );
+        MatcherAssert.assertThat(
+            "touches the origin for sources",
+            map.origins("Cached-Key"),
+            Matchers.empty()
+        );
+        MatcherAssert.assertThat(
+            "touches the origin for sections",
+            map.section("com/example/"),
+            Matchers.anEmptyMap()
+        );
+        map.append(new StringMfs("Cached-Key: appended\n"));
+        MatcherAssert.assertThat(
+            "doesn't configure the map of the file",
+            map.get("Cached-Key"),
+            Matchers.equalTo("appended")
+        );
+    }
+
+    @Test
+    void ignoresBrokenFile(@TempDir final Path dir) throws Exception {
+        final File idx = dir.resolve("broken.idx").toFile();
+        Files.write(idx.toPath(), new byte[] {0x4d, 0x46});
+        MatcherAssert.assertThat(
+            "doesn't fall back to the origin",
+            new CachedManifests(
+                new Manifests(Collections.singletonMap("K", "v")),
+                idx, Collections.emptyList()
+            ).get("K"),
+            Matchers.equalTo("v")
+        );
+    }
+
+    @Test
+    void letsClassLoaderBeCollected(@TempDir final Path dir) throws Exception {
+        final List<MfMap> maps = new ArrayList<>(1);
+        final WeakReference<ClassLoader> ref = CachedManifestsTest.used(maps, dir);
+        for (int attempt = 0; attempt < 50 && ref.get() != null; ++attempt) {
+            System.gc();
+            Thread.sleep(20L);
+        }
+        MatcherAssert.assertThat(
+            "keeps the class loader alive",
+            ref.get(),
+            Matchers.nullValue()
+        );
+        MatcherAssert.assertThat(
+            "forgets attributes of the class loader",
+            maps.get(0).get("Weak-Key"),
+            Matchers.equalTo("weak")
+        );
+    }
+
+    /**
+     * Use the cached map of a class loader and forget the class loader.
+     * @param maps Where to keep the map
+     * @param dir Where to make the classpath
+     * @return Weak reference to the class loader
+     * @throws Exception If fails
+     */
+    private static WeakReference<ClassLoader> used(final List<MfMap> maps,
+        final Path dir) throws Exception {
+        final Path manifest = dir.resolve("weak/META-INF/MANIFEST.MF");
+        Files.createDirectories(manifest.getParent());
+        Files.write(manifest, "Weak-Key: weak\n".getBytes(StandardCharsets.UTF_8));
+        try (URLClassLoader loader = new URLClassLoader(
+            new URL[] {dir.resolve("weak").toUri().toURL()}, null
+        )) {
+            final MfMap map = new CachedManifests(
+                new LazyManifests(new Manifests(), new WeakReference<>(loader)::get),
+                dir.resolve("weak.idx").toFile(), loader, Manifests::new
+            );
+            map.size();
+            maps.add(map);
+            return new WeakReference<>(loader);
+        }
+    }
+
+    /**
+     * Map, which fails when touched.
+     * @return The map
+     */
+    private static MfMap untouchable() {
+        return (MfMap) Proxy.newProxyInstance(
+            MfMap.class.getClassLoader(),
+            new Class<?>[] {MfMap.class},
+            (proxy, method, args) -> {
+                throw new IllegalStateException(
+                    String.format("%s() is called", method.getName())
+                );
+            }
+        );
+    }
+
+}
@@ -0,0 +1,106 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.manifests;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link CompactMap}.
+ *
+ * @since 2.1.0
+ */
+final class CompactMapTest {
+
+    @Test
+    void keepsAllAttributes() {
+        final Map<String, String> attrs = new HashMap<>(0);
+        attrs.put("Aa", "colliding");
+        attrs.put("BB", "colliding too");
+        for (int idx = 0; idx < 1000; ++idx) {
+            attrs.put(String.format("Key-%d", idx), String.format("v%d", idx % 7));
+        }
+        final Map<String, String> map = new CompactMap(attrs, new StringPool());
+        MatcherAssert.assertThat(
+            "doesn't keep the same attributes",
+            map,
+            Matchers.equalTo(attrs)
+        );
+        MatcherAssert.assertThat(
+            "finds a key which doesn't exist",
+            map.containsKey("Key-1000"),
+            Matchers.is(false)
+        );
+        Assertions.assertThrows(
+            UnsupportedOperationException.class,
+            () -> map.put("Aa", "changed"),
+            "allows to modify the map"
+        );
+    }
+
+    @Test
+    void internsNamesAndValues() {
+        final Map<String, String> attrs = new HashMap<>(0);
+        attrs.put(new String("Created-By".toCharArray()), "Maven");
+        attrs.put("First-Key", new String("same".toCharArray()));
+        attrs.put("Second-Key", new String("same".toCharArray()));
+        final Map<String, String> map = new CompactMap(attrs, new StringPool());
+        MatcherAssert.assertThat(
+            "doesn't share equal values",
+            map.get("First-Key"),
+            Matchers.sameInstance(map.get("Second-Key"))
+        );
+        MatcherAssert.assertThat(
+            "doesn't intern well-known names",
+            map.keySet(),
+            Matchers.hasItem(
+                Matchers.sameInstance(new StringPool().intern("Created-By"))
+            )
+        );
+    }
+
+    @Test
+    void findsKeysIgnoringCase() {
+        final Map<String, String> attrs = new HashMap<>(0);
+        for (int idx = 0; idx < 100; ++idx) {
+            attrs.put(String.format("Acme-Limit-%02d", idx), String.valueOf(idx));
+            attrs.put(String.format("Acme-Feature-%02d", idx), "on");
+        }
+        attrs.put("acme-feature-zz", "lower");
+        attrs.put("ACME-FEATURE-ZZ", "upper");
+        attrs.put("Acme-Features", "all");
+        final CompactMap map = new CompactMap(attrs, new StringPool());
+        MatcherAssert.assertThat(
+            "doesn't find keys by prefix",
+            map.prefixed("ACME-feature-").keySet(),
+            Matchers.allOf(
+                Matchers.<String>iterableWithSize(102),
+                Matchers.hasItems("Acme-Feature-00", "acme-feature-zz"),
+                Matchers.not(Matchers.hasItem("Acme-Features"))
+            )
+        );
+        MatcherAssert.assertThat(
+            "doesn't find keys ignoring case",
+            Arrays.asList(
+                map.ignoringCase("acme-limit-42"),
+                map.ignoringCase("acme-feature-zz"),
+                map.ignoringCase("Acme-Feature-Zz"),
+                map.ignoringCase("Acme-Limit-100")
+            ),
+            Matchers.contains(
+                Matchers.equalTo("42"),
+                Matchers.equalTo("lower"),
+                Matchers.equalTo("upper"),
+                Matchers.nullValue()
+            )
+        );
+    }
+
+}
@@ -0,0 +1,187 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.manifests;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test case for {@link HttpMfs}.
+ *
+ * @since 2.1.0
+ */
+final class HttpMfsTest {
+
+    @Test
+    void revalidatesCachedManifest(@TempDir final Path dir) throws Exception {
+        final List<Integer> codes = new CopyOnWriteArrayList<>();
+        final HttpServer server = HttpMfsTest.server(
+            exchange -> {
+                int code = 200;
+                final String etag = exchange.getRequestHeaders()
+                    .getFirst("If-None-Match");
+                if ("\"v1\"".equals(etag)) {
+                    code = 304;
+                }
+                codes.add(code);
+                exchange.getResponseHeaders().add("ETag", "\"v1\"");
+                HttpMfsTest.respond(exchange, code, "Remote-Key: remote\n");
+            }
+        );
+        try {
+            final Collection<URL> urls = HttpMfsTest.urls(server);
+            for (int attempt = 0; attempt < 2; ++attempt) {
+                final MfMap map = new Manifests();
+                map.append(new HttpMfs(urls, dir.toFile()));
+                MatcherAssert.assertThat(
+                    "doesn't read the manifest",
+                    map.get("Remote-Key"),
+                    Matchers.equalTo("remote")
+                );
+            }
+        } finally {
+            server.stop(0);
+        }
+        MatcherAssert.assertThat(
+            "downloads the manifest again",
+            codes,
+            Matchers.contains(200, 304)
+        );
+    }
+
+    @Test
+    void readsCacheWhenServerIsDown(@TempDir final Path dir) throws Exception {
+        final HttpServer server = HttpMfsTest.server(
+            exchange -> HttpMfsTest.respond(exchange, 200, "Remote-Key: cached\n")
+        );
+        final Collection<URL> urls = HttpMfsTest.urls(server);
+        try {
+            new Manifests().append(new HttpMfs(urls, dir.toFile()));
+        } finally {
+            server.stop(0);
+        }
+        final MfMap map = new Manifests();
+        map.append(new HttpMfs(urls, dir.toFile(), 1L, TimeUnit.SECONDS));
+        MatcherAssert.assertThat(
+            "doesn't read the cached manifest",
+            map.get("Remote-Key"),
+            Matchers.equalTo("cached")
+        );
+    }
+
+    @Test
+    void failsWhenServerIsLate(@TempDir final Path dir) throws Exception {
+        final CountDownLatch done = new CountDownLatch(1);
+        final HttpServer server = HttpMfsTest.server(
+            exchange -> {
+                try {
+                    done.await(10L, TimeUnit.SECONDS);
+                } catch (final InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                HttpMfsTest.respond(exchange, 200, "Remote-Key: late\n");
+            }
+        );
+        try {
+            Assertions.assertThrows(
+                IOException.class,
+                () -> new Manifests().append(
+                    new HttpMfs(
+                        HttpMfsTest.urls(server), dir.toFile(),
+                        200L, TimeUnit.MILLISECONDS
+                    )
+                ),
+                "waits for the late server"
+            );
+        } finally {
+            done.countDown();
+            server.stop(0);
+        }
+    }
+
+    /**
+     * Start a server on a random port.
+     * @param handler What to respond
+     * @return The server
+     * @throws IOException If fails
+     */
+    private static HttpServer server(final HttpHandler handler)
+        throws IOException {
+        final HttpServer server = HttpServer.create(
+            new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0
+        );
+        server.createContext(
+            "/",
+            exchange -> {
+                try {
+                    handler.handle(exchange);
+                } finally {
+                    exchange.close();
+                }
+            }
+        );
+        server.start();
+        return server;
+    }
+
+    /**
+     * URL of the manifest on the server.
+     * @param server The server
+     * @return URLs
+     * @throws IOException If fails
+     */
+    private static Collection<URL> urls(final HttpServer server)
+        throws IOException {
+        return Collections.singleton(
+            new URL(
+                String.format(
+                    "http://%s:%d/META-INF/MANIFEST.MF",
+                    server.getAddress().getHostString(),
+                    server.getAddress().getPort()
+                )
+            )
+        );
+    }
+
+    /**
+     * Send the response, with a body unless it's 304.
+     * @param exchange The exchange
+     * @param code Response code
+     * @param body The body
+     * @throws IOException If fails
+     */
+    private static void respond(final HttpExchange exchange, final int code,
+        final String body) throws IOException {
+        if (code == 304) {
+            exchange.sendResponseHeaders(code, -1L);
+        } else {
+            final byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(code, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+    }
+
+}
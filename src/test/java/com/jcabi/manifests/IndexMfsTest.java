@@ -0,0 +1,48 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.manifests;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test case for {@link IndexMfs}.
+ *
+ * @since 2.1.0
+ */
+final class IndexMfsTest {
+
+    @Test
+    void readsAttributesSavedToIndex(@TempDir final Path dir) throws Exception {
+        IndexMfs.main(dir.resolve(IndexMfs.RESOURCE).toString());
+        final MfMap map = new Manifests();
+        map.append(
+            new IndexMfs(
+                new URLClassLoader(new URL[] {dir.toUri().toURL()}, null)
+            )
+        );
+        MatcherAssert.assertThat(
+            "doesn't read attributes of classpath from the index",
+            map.get("Built-By"),
+            Matchers.equalTo(Manifests.read("Built-By"))
+        );
+    }
+
+    @Test
+    void rejectsMissingArgument() {
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            IndexMfs::main,
+            "accepts no arguments"
+        );
+    }
+
+}
@@ -0,0 +1,143 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.manifests;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test case for {@link JarsMfs}.
+ *
+ * @since 2.1.0
+ */
+final class JarsMfsTest {
+
+    @Test
+    void readsJarsAndDirectoriesInOrder(@TempDir final Path dir)
+        throws Exception {
+        final Path exploded = dir.resolve("classes/META-INF/MANIFEST.MF");
+        Files.createDirectories(exploded.getParent());
+        Files.write(
+            exploded,
+            "Order-Key: directory\nDir-Key: d\n".getBytes(StandardCharsets.UTF_8)
+        );
+        final Path broken = dir.resolve("broken.jar");
+        Files.write(broken, "not a zip".getBytes(StandardCharsets.UTF_8));
+        final MfMap map = new Manifests();
+        map.append(
+            new JarsMfs(
+                Arrays.asList(
+                    dir.resolve("absent.jar").toFile(),
+                    broken.toFile(),
+                    JarsMfsTest.jar(
+                        dir.resolve("deflated.jar"), ZipEntry.DEFLATED, "",
+                        "Order-Key: deflated\nDeflated-Key: a\n"
+                    ),
+                    dir.resolve("classes").toFile(),
+                    JarsMfsTest.jar(
+                        dir.resolve("stored.jar"), ZipEntry.STORED,
+                        "archive comment", "Stored-Key: b\n"
+                    )
+                )
+            )
+        );
+        MatcherAssert.assertThat(
+            "doesn't read all manifests",
+            map.keySet(),
+            Matchers.containsInAnyOrder(
+                "Order-Key", "Deflated-Key", "Dir-Key", "Stored-Key"
+            )
+        );
+        MatcherAssert.assertThat(
+            "doesn't keep the order of the classpath",
+            map.get("Order-Key"),
+            Matchers.equalTo("deflated")
+        );
+    }
+
+    @Test
+    void readsJarsInModulePath(@TempDir final Path dir) throws Exception {
+        Files.createDirectories(dir.resolve("mods"));
+        JarsMfsTest.jar(
+            dir.resolve("mods/b.jar"), ZipEntry.DEFLATED, "", "Module-Key: b\n"
+        );
+        JarsMfsTest.jar(
+            dir.resolve("mods/a.jar"), ZipEntry.DEFLATED, "", "Module-Key: a\n"
+        );
+        final MfMap map = new Manifests();
+        map.append(
+            new JarsMfs(
+                Collections.emptyList(),
+                Collections.singleton(dir.resolve("mods").toFile())
+            )
+        );
+        MatcherAssert.assertThat(
+            "doesn't read JARs in the order of names",
+            map.get("Module-Key"),
+            Matchers.equalTo("a")
+        );
+    }
+
+    /**
+     * Make a JAR with a class and a manifest.
+     * @param path Where to make it
+     * @param method Compression method
+     * @param comment Comment of the archive
+     * @param manifest Content of the manifest
+     * @return The file
+     * @throws IOException If fails
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    private static File jar(final Path path, final int method,
+        final String comment, final String manifest) throws IOException {
+        try (ZipOutputStream zip = new ZipOutputStream(
+            Files.newOutputStream(path)
+        )) {
+            zip.setComment(comment);
+            JarsMfsTest.entry(zip, "com/example/Foo.class", method, new byte[64]);
+            JarsMfsTest.entry(
+                zip, "META-INF/MANIFEST.MF", method,
+                manifest.getBytes(StandardCharsets.UTF_8)
+            );
+        }
+        return path.toFile();
+    }
+
+    /**
+     * Write an entry to the archive.
+     * @param zip The archive
+     * @param name Name of the entry
+     * @param method Compression method
+     * @param data Content of the entry
+     * @throws IOException If fails
+     */
+    private static void entry(final ZipOutputStream zip, final String name,
+        final int method, final byte[] data) throws IOException {
+        final ZipEntry entry = new ZipEntry(name);
+        entry.setMethod(method);
+        if (method == ZipEntry.STORED) {
+            final CRC32 crc = new CRC32();
+            crc.update(data);
+            entry.setCrc(crc.getValue());
+            entry.setSize(data.length);
+        }
+        zip.putNextEntry(entry);
+        zip.write(data);
+        zip.closeEntry();
+    }
+
+}
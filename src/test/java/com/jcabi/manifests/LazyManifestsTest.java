@@ -0,0 +1,151 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.manifests;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test case for {@link LazyManifests}.
+ *
+ * @since 2.1.0
+ */
+final class LazyManifestsTest {
+
+    @Test
+    void loadsOnlyManifestsNecessaryToFindAttribute(@TempDir final Path dir)
+        throws Exception {
+        final MfMap origin = new Manifests();
+        final MfMap lazy = new LazyManifests(
+            origin,
+            LazyManifestsTest.loader(
+                LazyManifestsTest.jar(dir.resolve("a"), "Alpha: first\n"),
+                LazyManifestsTest.jar(dir.resolve("b"), "Alpha: second\nBeta: b\n")
+            )
+        );
+        MatcherAssert.assertThat(
+            "doesn't read the first attribute",
+            lazy.get("Alpha"),
+            Matchers.equalTo("first")
+        );
+        MatcherAssert.assertThat(
+            "reads more manifests than necessary",
+            origin.containsKey("Beta"),
+            Matchers.is(false)
+        );
+    }
+
+    @Test
+    void loadsEverythingWhenAsked(@TempDir final Path dir) throws Exception {
+        final MfMap lazy = new LazyManifests(
+            LazyManifestsTest.loader(
+                LazyManifestsTest.jar(dir.resolve("x"), "Gamma: one\n"),
+                LazyManifestsTest.jar(dir.resolve("y"), "Gamma: two\nDelta: d\n")
+            )
+        );
+        MatcherAssert.assertThat(
+            "doesn't load all attributes",
+            lazy.keySet(),
+            Matchers.containsInAnyOrder("Gamma", "Delta")
+        );
+        MatcherAssert.assertThat(
+            "doesn't let the first manifest win",
+            lazy.get("Gamma"),
+            Matchers.equalTo("one")
+        );
+    }
+
+    @Test
+    void keepsClasspathInFrontOfAppended(@TempDir final Path dir)
+        throws Exception {
+        final MfMap lazy = new LazyManifests(
+            new Manifests(new HashMap<>(0)),
+            LazyManifestsTest.loader(
+                LazyManifestsTest.jar(dir.resolve("z"), "Epsilon: classpath\n")
+            )
+        );
+        lazy.append(new StringMfs("Epsilon: appended\n"));
+        MatcherAssert.assertThat(
+            "lets appended attribute win",
+            lazy.get("Epsilon"),
+            Matchers.equalTo("classpath")
+        );
+    }
+
+    @Test
+    void readsIndexInFrontOfManifests(@TempDir final Path dir) throws Exception {
+        final ClassLoader ldr = LazyManifestsTest.indexed(dir);
+        MatcherAssert.assertThat(
+            "doesn't merge the index and manifests",
+            new LazyManifests(new Manifests(), () -> ldr, true).getAsMap(),
+            Matchers.allOf(
+                Matchers.hasEntry("Zeta", "index"),
+                Matchers.hasEntry("Eta", "e")
+            )
+        );
+    }
+
+    @Test
+    void ignoresIndexUnlessAsked(@TempDir final Path dir) throws Exception {
+        MatcherAssert.assertThat(
+            "reads the index, which isn't wanted",
+            new LazyManifests(LazyManifestsTest.indexed(dir)).get("Zeta"),
+            Matchers.equalTo("manifest")
+        );
+    }
+
+    /**
+     * Make a class loader with an index and a manifest, which isn't
+     * in the index.
+     * @param dir Where to put them
+     * @return Class loader
+     * @throws IOException If fails
+     */
+    private static ClassLoader indexed(final Path dir) throws IOException {
+        final URL idx = LazyManifestsTest.jar(dir.resolve("i"), "Zeta: index\n");
+        Files.move(
+            dir.resolve("i/META-INF/MANIFEST.MF"),
+            dir.resolve("i").resolve(IndexMfs.RESOURCE)
+        );
+        return LazyManifestsTest.loader(
+            idx,
+            LazyManifestsTest.jar(dir.resolve("m"), "Zeta: manifest\nEta: e\n")
+        );
+    }
+
+    /**
+     * Make a directory with a manifest inside.
+     * @param dir The directory
+     * @param text Content of MANIFEST.MF
+     * @return URL of the directory
+     * @throws IOException If fails
+     */
+    private static URL jar(final Path dir, final String text)
+        throws IOException {
+        final Path file = dir.resolve("META-INF/MANIFEST.MF");
+        Files.createDirectories(file.getParent());
+        Files.write(file, text.getBytes(StandardCharsets.UTF_8));
+        return dir.toUri().toURL();
+    }
+
+    /**
+     * Make an isolated class loader.
+     * @param urls Its classpath
+     * @return Class loader
+     */
+    private static ClassLoader loader(final URL... urls) {
+        return new URLClassLoader(urls, null);
+    }
+
+}
@@ -5,14 +5,36 @@
 package com.jcabi.manifests;
 
 import com.jcabi.log.Logger;
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 /**
  * Test case for {@link Manifests}.
@@ -48,6 +70,36 @@ final class ManifestsTest {
         );
     }
 
+    @Test
+    void explainsWhyAttributeIsMissed() {
+        MatcherAssert.assertThat(
+            "doesn't mention the attribute in the message",
+            Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> Manifests.read("Absent-Attribute")
+            ).getMessage(),
+            Matchers.containsString("'Absent-Attribute' not found")
+        );
+    }
+
+    @Test
+    void readsDefaultValueIfAttributeIsMissed() {
+        MatcherAssert.assertThat(
+            "doesn't return the default value",
+            Manifests.read("absent-attribute-with-default", "default"),
+            Matchers.equalTo("default")
+        );
+    }
+
+    @Test
+    void readsExistingAttributeInsteadOfDefault() {
+        MatcherAssert.assertThat(
+            "returns the default value of existing attribute",
+            Manifests.read("Built-By", "nobody"),
+            Matchers.equalTo(Manifests.read("Built-By"))
+        );
+    }
+
     @Test
     void throwsExceptionWhenNoAttributes() {
         Assertions.assertThrows(
@@ -105,4 +157,545 @@ final class ManifestsTest {
         );
     }
 
+    @Test
+    void appendsInParallelKeepingOrderOfStreams() throws Exception {
+        final Collection<InputStream> streams = new ArrayList<>(0);
+        for (int idx = 0; idx < 64; ++idx) {
+            streams.add(
+                new ByteArrayInputStream(
+                    Logger.format("Parallel-Key: %d\nKey-%d: x\n", idx, idx)
+                        .getBytes(StandardCharsets.UTF_8)
+                )
+            );
+        }
+        final MfMap manifests = new Manifests(
+            new HashMap<>(0), new MfSettings().withThreads(8)
+        );
+        manifests.append(new StreamsMfs(streams));
+        MatcherAssert.assertThat(
+            "the first stream doesn't win",
+            manifests.get("Parallel-Key"),
+            Matchers.equalTo("0")
+        );
+        MatcherAssert.assertThat(
+            "not all streams are parsed",
+            manifests.size(),
+            Matchers.equalTo(65)
+        );
+    }
+
+    @Test
+    void rejectsZeroThreads() {
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> new MfSettings().withThreads(0),
+            "accepts zero threads"
+        );
+    }
+
+    @Test
+    void sharesSnapshotBetweenCalls() throws Exception {
+        final MfMap manifests = new Manifests();
+        manifests.append(new StringMfs("Snapshot-Key: one\n"));
+        final Map<String, String> snapshot = manifests.getAsMap();
+        MatcherAssert.assertThat(
+            "copies the map on every call",
+            manifests.getAsMap(),
+            Matchers.sameInstance(snapshot)
+        );
+        manifests.append(new StringMfs("Another-Key: two\n"));
+        MatcherAssert.assertThat(
+            "changes the snapshot already returned",
+            snapshot.keySet(),
+            Matchers.contains("Snapshot-Key")
+        );
+        Assertions.assertThrows(
+            UnsupportedOperationException.class,
+            () -> manifests.keySet().clear(),
+            "lets the snapshot be modified"
+        );
+    }
+
+    @Test
+    void reportsMetricsToListener() throws Exception {
+        final AtomicInteger streams = new AtomicInteger();
+        final AtomicLong bytes = new AtomicLong();
+        final AtomicInteger saved = new AtomicInteger();
+        final AtomicInteger failed = new AtomicInteger();
+        final MfMap manifests = new Manifests(
+            new HashMap<>(0),
+            new MfSettings().withListener(
+                new MfListener() {
+                    @Override
+                    public void fetched(final Mfs mfs, final int total,
+                        final long nanos) {
+                        streams.addAndGet(total);
+                    }
+
+                    @Override
+                    public void parsed(final int attrs, final long read,
+                        final long nanos) {
+                        bytes.addAndGet(read);
+                    }
+
+                    @Override
+                    public void failed(final Exception error) {
+                        failed.incrementAndGet();
+                    }
+
+                    @Override
+                    public void merged(final int done, final int ignored,
+                        final long nanos) {
+                        saved.addAndGet(done);
+                    }
+                }
+            )
+        );
+        manifests.append(new StringMfs("Metered-Key: value\n"));
+        Assertions.assertThrows(
+            IOException.class,
+            () -> manifests.append(new StringMfs("broken\n")),
+            "accepts a broken manifest"
+        );
+        MatcherAssert.assertThat(
+            "doesn't report sources found",
+            streams.get(),
+            Matchers.equalTo(2)
+        );
+        MatcherAssert.assertThat(
+            "doesn't report bytes parsed",
+            bytes.get(),
+            Matchers.equalTo(19L)
+        );
+        MatcherAssert.assertThat(
+            "doesn't report saved attributes",
+            saved.get(),
+            Matchers.equalTo(1)
+        );
+        MatcherAssert.assertThat(
+            "doesn't report the failure",
+            failed.get(),
+            Matchers.equalTo(1)
+        );
+    }
+
+    @Test
+    void skipsBrokenStreams() throws Exception {
+        final AtomicInteger failed = new AtomicInteger();
+        final MfMap manifests = new Manifests(
+            new HashMap<>(0),
+            new MfSettings().withListener(
+                new MfListener() {
+                    @Override
+                    public void failed(final Exception error) {
+                        failed.incrementAndGet();
+                    }
+                }
+            )
+        );
+        manifests.append(
+            new StreamsMfs(
+                Arrays.asList(
+                    new ByteArrayInputStream(
+                        "Broken Key: x\n".getBytes(StandardCharsets.UTF_8)
+                    ),
+                    new ByteArrayInputStream(
+                        "Sound-Key: y\n".getBytes(StandardCharsets.UTF_8)
+                    )
+                )
+            )
+        );
+        MatcherAssert.assertThat(
+            "doesn't read the sound stream",
+            manifests.get("Sound-Key"),
+            Matchers.equalTo("y")
+        );
+        MatcherAssert.assertThat(
+            "doesn't report the broken stream",
+            failed.get(),
+            Matchers.equalTo(1)
+        );
+    }
+
+    @Test
+    void recordsSourcesOfAttributes() throws Exception {
+        final MfMap manifests = new Manifests(
+            new HashMap<>(0), new MfSettings().withProvenance(true)
+        );
+        final Collection<InputStream> streams = new ArrayList<>(0);
+        for (final String name : new String[] {"first.jar", "second.jar"}) {
+            streams.add(
+                new NamedStream(
+                    name,
+                    new ByteArrayInputStream(
+                        Logger.format("Traced-Key: %s\n", name)
+                            .getBytes(StandardCharsets.UTF_8)
+                    )
+                )
+            );
+        }
+        manifests.append(new StreamsMfs(streams));
+        manifests.append(new StringMfs("Traced-Key: third\n"));
+        MatcherAssert.assertThat(
+            "doesn't record shadowed values in order",
+            manifests.origins("Traced-Key"),
+            Matchers.contains(
+                new AbstractMap.SimpleImmutableEntry<>("first.jar", "first.jar"),
+                new AbstractMap.SimpleImmutableEntry<>("second.jar", "second.jar"),
+                new AbstractMap.SimpleImmutableEntry<>("(unknown)", "third")
+            )
+        );
+        MatcherAssert.assertThat(
+            "records sources of absent attribute",
+            manifests.origins("Absent-Key"),
+            Matchers.empty()
+        );
+    }
+
+    @Test
+    void doesNotRecordSourcesByDefault() throws Exception {
+        final MfMap manifests = new Manifests();
+        manifests.append(new StringMfs("Untraced-Key: value\n"));
+        MatcherAssert.assertThat(
+            "records sources without being asked to",
+            manifests.origins("Untraced-Key"),
+            Matchers.empty()
+        );
+    }
+
+    @Test
+    void keepsWantedSections() throws Exception {
+        final MfMap manifests = new Manifests(
+            new HashMap<>(0),
+            new MfSettings().withSections(name -> name.startsWith("com/"))
+        );
+        manifests.append(
+            new StringMfs(
+                // @checkstyle LineLength (1 line)
+                "Main-Key: x\n\nName: com/foo/\nTitle: first\n\nName: org/bar/\nTitle: no\n"
+            )
+        );
+        manifests.append(
+            new StringMfs("Main-Key: y\n\nName: com/foo/\nTitle: second\nOther: z\n")
+        );
+        MatcherAssert.assertThat(
+            "doesn't keep the first value in section",
+            manifests.section("com/foo/"),
+            Matchers.allOf(
+                Matchers.hasEntry("Title", "first"),
+                Matchers.hasEntry("Other", "z")
+            )
+        );
+        MatcherAssert.assertThat(
+            "keeps unwanted section",
+            manifests.section("org/bar/"),
+            Matchers.anEmptyMap()
+        );
+        MatcherAssert.assertThat(
+            "mixes sections with main attributes",
+            manifests.keySet(),
+            Matchers.contains("Main-Key")
+        );
+    }
+
+    @Test
+    void opensOneStreamAtATime() throws Exception {
+        final AtomicInteger open = new AtomicInteger();
+        final AtomicInteger most = new AtomicInteger();
+        final Collection<Mfs.Source> sources = new ArrayList<>(0);
+        for (int idx = 0; idx < 16; ++idx) {
+            final String text = Logger.format("Lazy-Key-%d: v\n", idx);
+            sources.add(
+                () -> {
+                    most.accumulateAndGet(open.incrementAndGet(), Math::max);
+                    return new ByteArrayInputStream(
+                        text.getBytes(StandardCharsets.UTF_8)
+                    ) {
+                        @Override
+                        public void close() {
+                            open.decrementAndGet();
+                        }
+                    };
+                }
+            );
+        }
+        final MfMap manifests = new Manifests();
+        manifests.append(new SourcesMfs(sources));
+        MatcherAssert.assertThat(
+            "doesn't read all sources",
+            manifests.size(),
+            Matchers.equalTo(16)
+        );
+        MatcherAssert.assertThat(
+            "opens more than one stream at a time",
+            most.get(),
+            Matchers.equalTo(1)
+        );
+    }
+
+    @Test
+    void mergesConcurrentAppendsDeterministically() throws Exception {
+        final MfMap first = new Manifests();
+        final MfMap priority = new Manifests(
+            new HashMap<>(0),
+            new MfSettings().withPolicy(
+                new PriorityPolicy(
+                    (key, source) -> Integer.parseInt(source.substring(1))
+                )
+            )
+        );
+        final int threads = 8;
+        final ExecutorService service = Executors.newFixedThreadPool(threads);
+        final CountDownLatch latch = new CountDownLatch(1);
+        final Collection<Future<?>> futures = new ArrayList<>(threads);
+        for (int thread = 0; thread < threads; ++thread) {
+            final int num = thread;
+            futures.add(
+                service.submit(
+                    () -> {
+                        latch.await();
+                        for (int idx = 0; idx < 50; ++idx) {
+                            final StringBuilder text = new StringBuilder(0);
+                            for (int key = 0; key < 20; ++key) {
+                                text.append(
+                                    Logger.format("Race-%d: %d-%d\n", key, num, idx)
+                                );
+                            }
+                            final String name =
+                                Logger.format("#%d", num * 100 + idx);
+                            final Mfs mfs = () -> Collections.singleton(
+                                new NamedStream(
+                                    name,
+                                    new ByteArrayInputStream(
+                                        text.toString()
+                                            .getBytes(StandardCharsets.UTF_8)
+                                    )
+                                )
+                            );
+                            first.append(mfs);
+                            priority.append(mfs);
+                        }
+                        return null;
+                    }
+                )
+            );
+        }
+        latch.countDown();
+        for (final Future<?> future : futures) {
+            future.get();
+        }
+        service.shutdown();
+        MatcherAssert.assertThat(
+            "mixes attributes of concurrent appends",
+            new HashSet<>(first.getAsMap().values()),
+            Matchers.hasSize(1)
+        );
+        MatcherAssert.assertThat(
+            "doesn't let the source with the highest priority win",
+            new HashSet<>(priority.getAsMap().values()),
+            Matchers.contains(Logger.format("%d-49", threads - 1))
+        );
+    }
+
+    @Test
+    void letsTheLastValueWin() throws Exception {
+        final MfMap manifests = new Manifests(
+            Collections.singletonMap("Last-Key", "initial"),
+            new MfSettings().withPolicy(MfPolicy.LAST)
+        );
+        manifests.append(new StringMfs("Last-Key: first\n"));
+        manifests.append(new StringMfs("Last-Key: second\n"));
+        MatcherAssert.assertThat(
+            "doesn't replace the value",
+            manifests.get("Last-Key"),
+            Matchers.equalTo("second")
+        );
+    }
+
+    @Test
+    void convertsValuesOnce() throws Exception {
+        final MfMap manifests = new Manifests(
+            new HashMap<>(0), new MfSettings().withPolicy(MfPolicy.LAST)
+        );
+        manifests.append(
+            new StringMfs(
+                String.join(
+                    "\n",
+                    "Max-Size: 42",
+                    "Build-Timestamp: 2026-01-31T10:15:30Z",
+                    "Implementation-Version: 1.2.3-SNAPSHOT",
+                    "Packages: com.example.a, com.example.b,,",
+                    ""
+                )
+            )
+        );
+        MatcherAssert.assertThat(
+            "doesn't convert values",
+            Arrays.asList(
+                manifests.getInt("Max-Size"),
+                manifests.getInstant("Build-Timestamp"),
+                manifests.getVersion("Implementation-Version"),
+                manifests.getList("Packages"),
+                manifests.getInt("Absent-Key")
+            ),
+            Matchers.contains(
+                Matchers.equalTo(42),
+                Matchers.equalTo(Instant.parse("2026-01-31T10:15:30Z")),
+                Matchers.equalTo(new MfVersion("1.2.3-SNAPSHOT")),
+                Matchers.equalTo(Arrays.asList("com.example.a", "com.example.b")),
+                Matchers.nullValue()
+            )
+        );
+        MatcherAssert.assertThat(
+            "converts the value again",
+            manifests.getList("Packages"),
+            Matchers.sameInstance(manifests.getList("Packages"))
+        );
+        manifests.append(new StringMfs("Max-Size: 7\n"));
+        MatcherAssert.assertThat(
+            "doesn't convert the changed value",
+            manifests.getInt("Max-Size"),
+            Matchers.equalTo(7)
+        );
+        final AtomicInteger calls = new AtomicInteger();
+        for (int idx = 0; idx < 3; ++idx) {
+            manifests.get("Max-Size", value -> calls.incrementAndGet());
+        }
+        MatcherAssert.assertThat(
+            "keeps values converted by the caller",
+            calls.get(),
+            Matchers.equalTo(3)
+        );
+    }
+
+    @Test
+    void parsesIdenticalManifestsOnce() throws Exception {
+        final AtomicInteger parsed = new AtomicInteger();
+        final AtomicInteger dups = new AtomicInteger();
+        final MfMap manifests = new Manifests(
+            new HashMap<>(0),
+            new MfSettings().withThreads(4).withListener(
+                new MfListener() {
+                    @Override
+                    public void parsed(final int attrs, final long read,
+                        final long nanos) {
+                        parsed.incrementAndGet();
+                    }
+
+                    @Override
+                    public void deduplicated(final int streams) {
+                        dups.addAndGet(streams);
+                    }
+                }
+            )
+        );
+        final Collection<Mfs.Source> sources = new ArrayList<>(0);
+        for (int idx = 0; idx < 50; ++idx) {
+            final String tail = String.format("Name: com/example/%d/\r\n", idx);
+            sources.add(
+                () -> new ByteArrayInputStream(
+                    String.join(
+                        "\r\n", "Built-By: ci", "Shared-Key: first", "", tail
+                    ).getBytes(StandardCharsets.UTF_8)
+                )
+            );
+            if (idx == 0) {
+                sources.add(
+                    () -> new ByteArrayInputStream(
+                        "Shared-Key: second\n".getBytes(StandardCharsets.UTF_8)
+                    )
+                );
+            }
+        }
+        manifests.append(new SourcesMfs(sources));
+        MatcherAssert.assertThat(
+            "parses identical manifests again",
+            Arrays.asList(parsed.get(), dups.get()),
+            Matchers.contains(2, 49)
+        );
+        MatcherAssert.assertThat(
+            "doesn't let the first one win",
+            manifests.get("Shared-Key"),
+            Matchers.equalTo("first")
+        );
+    }
+
+    @Test
+    void readsManyAttributesAtOnce() throws Exception {
+        final MfMap manifests = new Manifests();
+        manifests.append(
+            new StringMfs(
+                String.join(
+                    "\n",
+                    "X-Build-Number: 42",
+                    "X-Build-Host: ci",
+                    "x-build-arch: arm",
+                    "X-Builder: me",
+                    "Name: x",
+                    ""
+                )
+            )
+        );
+        MatcherAssert.assertThat(
+            "doesn't read attributes by names",
+            manifests.getAll("Name", "Absent-Key", "X-Build-Number"),
+            Matchers.allOf(
+                Matchers.hasEntry("Name", "x"),
+                Matchers.hasEntry("X-Build-Number", "42"),
+                Matchers.not(Matchers.hasKey("Absent-Key"))
+            )
+        );
+        MatcherAssert.assertThat(
+            "doesn't read attributes by prefix",
+            manifests.getPrefixed("X-Build-").keySet(),
+            Matchers.contains("X-Build-Host", "X-Build-Number", "x-build-arch")
+        );
+        MatcherAssert.assertThat(
+            "doesn't read attribute ignoring case",
+            manifests.getIgnoreCase("X-BUILD-ARCH"),
+            Matchers.equalTo("arm")
+        );
+    }
+
+    @Test
+    void releasesDiscardedClassLoader(@TempDir final Path dir) throws Exception {
+        final WeakReference<ClassLoader> ref = ManifestsTest.discarded(dir);
+        for (int attempt = 0; attempt < 50 && ref.get() != null; ++attempt) {
+            System.gc();
+            Thread.sleep(20L);
+        }
+        MatcherAssert.assertThat(
+            "keeps the discarded class loader alive",
+            ref.get(),
+            Matchers.nullValue()
+        );
+    }
+
+    /**
+     * Read the scoped map of a class loader and forget the class loader.
+     * @param dir Where to make its classpath
+     * @return Weak reference to the class loader
+     * @throws IOException If fails
+     */
+    private static WeakReference<ClassLoader> discarded(final Path dir)
+        throws IOException {
+        final Path file = dir.resolve("META-INF/MANIFEST.MF");
+        Files.createDirectories(file.getParent());
+        Files.write(file, "Webapp-Name: gone\n".getBytes(StandardCharsets.UTF_8));
+        final Thread thread = Thread.currentThread();
+        final ClassLoader before = thread.getContextClassLoader();
+        try (URLClassLoader loader = new URLClassLoader(
+            new URL[] {dir.toUri().toURL()}, null
+        )) {
+            thread.setContextClassLoader(loader);
+            MatcherAssert.assertThat(
+                "doesn't read the context class loader",
+                Manifests.scoped().get("Webapp-Name"),
+                Matchers.equalTo("gone")
+            );
+            return new WeakReference<>(loader);
+        } finally {
+            thread.setContextClassLoader(before);
+        }
+    }
 }
@@ -0,0 +1,206 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.manifests;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.jar.Manifest;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link MfParser}.
+ *
+ * @since 2.1.0
+ */
+final class MfParserTest {
+
+    @Test
+    void joinsContinuationLines() throws IOException {
+        MatcherAssert.assertThat(
+            "doesn't join continuation lines",
+            MfParserTest.parse("Long-Value: abc\r\n def\r\n  ghi\r\n"),
+            Matchers.hasEntry("Long-Value", "abcdef ghi")
+        );
+    }
+
+    @Test
+    void decodesCharacterSplitBetweenLines() throws IOException {
+        final byte[] text = "Text: éé\n".getBytes(StandardCharsets.UTF_8);
+        final byte[] split = new byte[text.length + 2];
+        System.arraycopy(text, 0, split, 0, 7);
+        split[7] = '\n';
+        split[8] = ' ';
+        System.arraycopy(text, 7, split, 9, text.length - 7);
+        MatcherAssert.assertThat(
+            "breaks multi-byte character",
+            new MfParser(new ByteArrayInputStream(split)).main(),
+            Matchers.hasEntry("Text", "éé")
+        );
+    }
+
+    @Test
+    void stopsAtFirstBlankLine() throws IOException {
+        MatcherAssert.assertThat(
+            "reads beyond the main section",
+            MfParserTest.parse("A: 1\rB: 2\r\rName: x.class\rC: 3\r").keySet(),
+            Matchers.contains("A", "B")
+        );
+    }
+
+    @Test
+    void readsLastLineWithoutLineBreak() throws IOException {
+        MatcherAssert.assertThat(
+            "ignores the last line",
+            MfParserTest.parse("First: 1\nSecond: 2"),
+            Matchers.hasEntry("Second", "2")
+        );
+    }
+
+    @Test
+    void treatsNamesCaseInsensitively() throws IOException {
+        MatcherAssert.assertThat(
+            "doesn't merge names in different case",
+            MfParserTest.parse("foo: 1\nFOO: 2\n"),
+            Matchers.allOf(
+                Matchers.<String, String>aMapWithSize(1),
+                Matchers.hasEntry("foo", "2")
+            )
+        );
+    }
+
+    @Test
+    void rejectsHeaderWithoutSpace() {
+        Assertions.assertThrows(
+            IOException.class,
+            () -> MfParserTest.parse("Empty:\n"),
+            "accepts header without a space after colon"
+        );
+    }
+
+    @Test
+    void rejectsInvalidName() {
+        Assertions.assertThrows(
+            IOException.class,
+            () -> MfParserTest.parse("Bad Name: 1\n"),
+            "accepts name with a space"
+        );
+    }
+
+    @Test
+    void rejectsMisplacedContinuation() {
+        Assertions.assertThrows(
+            IOException.class,
+            () -> MfParserTest.parse(" continued\n"),
+            "accepts continuation of nothing"
+        );
+    }
+
+    @Test
+    void readsTheSameAsJdk() throws IOException {
+        final StringBuilder text = new StringBuilder(0)
+            .append("Manifest-Version: 1.0\r\n")
+            .append("Created-By: Apache Maven 3.9.9\r\n")
+            .append("Import-Package: com.jcabi.log,javax.servlet;resolution:=opt\r\n")
+            .append(" ional,jakarta.servlet;resolution:=optional\r\n")
+            .append("Built-By: é\r\n\r\n");
+        for (int idx = 0; idx < 100; ++idx) {
+            text.append("Name: com/jcabi/Cls").append(idx)
+                .append(".class\r\nSHA-256-Digest: abc=\r\n\r\n");
+        }
+        final byte[] bytes = text.toString().getBytes(StandardCharsets.UTF_8);
+        final Manifest jdk = new Manifest(new ByteArrayInputStream(bytes));
+        final Map<String, String> attrs =
+            new MfParser(new ByteArrayInputStream(bytes)).main();
+        MatcherAssert.assertThat(
+            "reads different number of attributes",
+            attrs.size(),
+            Matchers.equalTo(jdk.getMainAttributes().size())
+        );
+        for (final Map.Entry<Object, Object> attr
+            : jdk.getMainAttributes().entrySet()) {
+            MatcherAssert.assertThat(
+                "reads attribute differently",
+                attrs,
+                Matchers.hasEntry(
+                    attr.getKey().toString(), attr.getValue().toString()
+                )
+            );
+        }
+    }
+
+    @Test
+    void readsWantedSectionsOnly() throws IOException {
+        final MfParser parser = new MfParser(
+            new ByteArrayInputStream(
+                String.join(
+                    "\r\n",
+                    "Main: 1", "", "",
+                    "Name: com/example/", "Implementation-Title: exa",
+                    " mple", "",
+                    "Name: com/example/Cls.class", "SHA-256-Digest: abc=", "",
+                    "Name: com/exam", " ple/", "Sealed: true"
+                ).getBytes(StandardCharsets.UTF_8)
+            )
+        );
+        MatcherAssert.assertThat(
+            "doesn't read the main section",
+            parser.main(),
+            Matchers.hasEntry("Main", "1")
+        );
+        final Map<String, Map<String, String>> sections =
+            parser.sections(name -> name.endsWith("/"));
+        MatcherAssert.assertThat(
+            "doesn't skip unwanted sections",
+            sections.keySet(),
+            Matchers.contains("com/example/")
+        );
+        MatcherAssert.assertThat(
+            "doesn't merge sections with the same name",
+            sections.get("com/example/"),
+            Matchers.allOf(
+                Matchers.hasEntry("Implementation-Title", "example"),
+                Matchers.hasEntry("Sealed", "true"),
+                Matchers.not(Matchers.hasKey("Name"))
+            )
+        );
+    }
+
+    @Test
+    void rejectsSectionWithoutName() throws IOException {
+        final MfParser parser = new MfParser(
+            new ByteArrayInputStream(
+                "A: 1\n\nB: 2\n".getBytes(StandardCharsets.UTF_8)
+            )
+        );
+        parser.main();
+        Assertions.assertThrows(
+            IOException.class,
+            () -> parser.sections(name -> true),
+            "accepts section without a name"
+        );
+    }
+
+    /**
+     * Parse the text.
+     * @param text The text
+     * @return Attributes
+     * @throws IOException If fails
+     */
+    private static Map<String, String> parse(final String text)
+        throws IOException {
+        try (InputStream input = new ByteArrayInputStream(
+            text.getBytes(StandardCharsets.UTF_8)
+        )) {
+            return new MfParser(input).main();
+        }
+    }
+
+}
@@ -0,0 +1,136 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.manifests;
+
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.jar.Attributes;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test case for {@link MfRegistry}.
+ *
+ * @since 2.1.0
+ */
+final class MfRegistryTest {
+
+    @Test
+    void keepsMapPerClassLoader(@TempDir final Path dir) throws Exception {
+        final MfRegistry registry = MfRegistryTest.registry();
+        try (URLClassLoader first = MfRegistryTest.loader(dir, "first");
+            URLClassLoader second = MfRegistryTest.loader(dir, "second")) {
+            MatcherAssert.assertThat(
+                "mixes attributes of class loaders",
+                registry.get(first).get("App-Name"),
+                Matchers.equalTo("first")
+            );
+            final Thread thread = Thread.currentThread();
+            final ClassLoader before = thread.getContextClassLoader();
+            thread.setContextClassLoader(second);
+            try {
+                MatcherAssert.assertThat(
+                    "doesn't find the map of the context class loader",
+                    registry.current().get("App-Name"),
+                    Matchers.equalTo("second")
+                );
+            } finally {
+                thread.setContextClassLoader(before);
+            }
+            MatcherAssert.assertThat(
+                "makes the map again",
+                registry.get(first),
+                Matchers.sameInstance(registry.get(first))
+            );
+        }
+    }
+
+    @Test
+    void letsClassLoaderBeCollected(@TempDir final Path dir) throws Exception {
+        final MfRegistry registry = MfRegistryTest.registry();
+        final WeakReference<ClassLoader> ref = MfRegistryTest.used(registry, dir);
+        for (int attempt = 0; attempt < 50 && ref.get() != null; ++attempt) {
+            System.gc();
+            Thread.sleep(20L);
+        }
+        MatcherAssert.assertThat(
+            "keeps the class loader alive",
+            ref.get(),
+            Matchers.nullValue()
+        );
+        MatcherAssert.assertThat(
+            "doesn't work after the class loader is collected",
+            registry.get(null),
+            Matchers.notNullValue()
+        );
+    }
+
+    /**
+     * Make a registry of lazy maps, as the one of {@link Manifests}.
+     * @return The registry
+     */
+    private static MfRegistry registry() {
+        return new MfRegistry(
+            ldr -> new LazyManifests(new Manifests(), new WeakReference<>(ldr)::get)
+        );
+    }
+
+    /**
+     * Use the map of a class loader and forget the class loader.
+     *
+     * <p>The attribute is found in the first of two JARs, so that the
+     * map stops reading manifests before the end of classpath.
+     *
+     * @param registry The registry
+     * @param dir Where to make the JAR
+     * @return Weak reference to the class loader
+     * @throws IOException If fails
+     */
+    private static WeakReference<ClassLoader> used(final MfRegistry registry,
+        final Path dir) throws IOException {
+        try (URLClassLoader loader = MfRegistryTest.loader(dir, "gone", "rest")) {
+            MatcherAssert.assertThat(
+                "doesn't read the class loader",
+                registry.get(loader).get("App-Name"),
+                Matchers.equalTo("gone")
+            );
+            return new WeakReference<>(loader);
+        }
+    }
+
+    /**
+     * Make a class loader of JARs with a manifest each.
+     * @param dir Where to make the JARs
+     * @param names Values of the attribute, one per JAR
+     * @return The class loader
+     * @throws IOException If fails
+     */
+    private static URLClassLoader loader(final Path dir, final String... names)
+        throws IOException {
+        final URL[] urls = new URL[names.length];
+        for (int idx = 0; idx < names.length; ++idx) {
+            final Manifest manifest = new Manifest();
+            manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+            manifest.getMainAttributes().putValue("App-Name", names[idx]);
+            final Path jar = dir.resolve(String.format("%s.jar", names[idx]));
+            try (JarOutputStream out = new JarOutputStream(
+                Files.newOutputStream(jar), manifest
+            )) {
+                out.flush();
+            }
+            urls[idx] = jar.toUri().toURL();
+        }
+        return new URLClassLoader(urls, null);
+    }
+
+}
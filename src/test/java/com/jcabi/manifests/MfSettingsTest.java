@@ -0,0 +1,36 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.manifests;
+
+import java.util.Arrays;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link MfSettings}.
+ *
+ * @since 2.1.0
+ */
+final class MfSettingsTest {
+
+    @Test
+    void changesOneOptionAtTime() {
+        final MfSettings base = new MfSettings().withThreads(4);
+        final MfSettings traced = base.withProvenance(true)
+            .withPolicy(MfPolicy.LAST);
+        MatcherAssert.assertThat(
+            "doesn't keep other options",
+            Arrays.asList(traced.threads(), traced.provenance(), traced.policy()),
+            Matchers.contains(4, true, MfPolicy.LAST)
+        );
+        MatcherAssert.assertThat(
+            "changes the original settings",
+            Arrays.asList(base.provenance(), base.policy()),
+            Matchers.contains(false, MfPolicy.FIRST)
+        );
+    }
+
+}
@@ -0,0 +1,102 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.manifests;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link MfVersion}.
+ *
+ * @since 2.1.0
+ */
+final class MfVersionTest {
+
+    @Test
+    void sortsVersions() {
+        final List<String> sorted = Arrays.asList(
+            "1.0.0-alpha", "1.0.0-alpha.1", "1.0.0-alpha.beta", "1.0.0-beta",
+            "1.0.0-beta.2", "1.0.0-beta.11", "1.0.0-rc.1", "1.0.0", "1.8.0_292",
+            "1.10", "2.0.0-SNAPSHOT", "2.0.1", "10.0"
+        );
+        final List<MfVersion> versions = new ArrayList<>(0);
+        for (final String version : sorted) {
+            versions.add(new MfVersion(version));
+        }
+        Collections.shuffle(versions);
+        Collections.sort(versions);
+        final List<String> texts = new ArrayList<>(0);
+        for (final MfVersion version : versions) {
+            texts.add(version.toString());
+        }
+        MatcherAssert.assertThat(
+            "doesn't sort versions",
+            texts,
+            Matchers.equalTo(sorted)
+        );
+    }
+
+    @Test
+    void sortsUpdatesAfterRelease() {
+        MatcherAssert.assertThat(
+            "doesn't sort the update after the release",
+            new MfVersion("1.8.0_292").compareTo(new MfVersion("1.8.0")),
+            Matchers.greaterThan(0)
+        );
+        final List<MfVersion> versions = Arrays.asList(
+            new MfVersion("1.8.1"), new MfVersion("1.8.0_292"),
+            new MfVersion("1.8.0_292-ea"), new MfVersion("1.8.0_45"),
+            new MfVersion("1.8")
+        );
+        Collections.sort(versions);
+        MatcherAssert.assertThat(
+            "doesn't sort updates",
+            versions,
+            Matchers.contains(
+                new MfVersion("1.8"), new MfVersion("1.8.0_45"),
+                new MfVersion("1.8.0_292-ea"), new MfVersion("1.8.0_292"),
+                new MfVersion("1.8.1")
+            )
+        );
+        MatcherAssert.assertThat(
+            "doesn't parse the update",
+            new MfVersion("1.8.0_292").update(),
+            Matchers.equalTo(292)
+        );
+    }
+
+    @Test
+    void parsesParts() {
+        final MfVersion version = new MfVersion("3.14.0-rc.2+build.7");
+        MatcherAssert.assertThat(
+            "doesn't parse parts of the version",
+            Arrays.asList(
+                version.major(), version.minor(), version.patch(),
+                version.qualifier()
+            ),
+            Matchers.contains(3, 14, 0, "rc.2")
+        );
+        MatcherAssert.assertThat(
+            "doesn't ignore trailing zeros",
+            new MfVersion("2.0"),
+            Matchers.allOf(
+                Matchers.equalTo(new MfVersion("2.0.0")),
+                Matchers.hasToString("2.0")
+            )
+        );
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> new MfVersion("SNAPSHOT"),
+            "accepts a version without numbers"
+        );
+    }
+
+}
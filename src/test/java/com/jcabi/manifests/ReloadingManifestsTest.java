@@ -0,0 +1,182 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.manifests;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.Attributes;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test case for {@link ReloadingManifests}.
+ *
+ * @since 2.1.0
+ */
+final class ReloadingManifestsTest {
+
+    @Test
+    void reloadsChangedFiles(@TempDir final Path dir) throws Exception {
+        Files.write(
+            dir.resolve("a.MF"),
+            "Plugin-Version: 1\n".getBytes(StandardCharsets.UTF_8)
+        );
+        try (ReloadingManifests map = new ReloadingManifests(
+            Collections.singleton(dir.toFile())
+        )) {
+            MatcherAssert.assertThat(
+                "doesn't read the file",
+                map.get("Plugin-Version"),
+                Matchers.equalTo("1")
+            );
+            Files.write(
+                dir.resolve("b.MF"),
+                "Plugin-Name: b\n".getBytes(StandardCharsets.UTF_8)
+            );
+            Files.write(
+                dir.resolve("a.MF"),
+                "Plugin-Version: 2\n".getBytes(StandardCharsets.UTF_8)
+            );
+            final long deadline = System.nanoTime()
+                + TimeUnit.SECONDS.toNanos(30L);
+            while (!("2".equals(map.get("Plugin-Version"))
+                && map.containsKey("Plugin-Name"))
+                && System.nanoTime() < deadline) {
+                TimeUnit.MILLISECONDS.sleep(50L);
+            }
+            MatcherAssert.assertThat(
+                "doesn't replace the changed value",
+                map.get("Plugin-Version"),
+                Matchers.equalTo("2")
+            );
+            MatcherAssert.assertThat(
+                "doesn't read the new file",
+                map.get("Plugin-Name"),
+                Matchers.equalTo("b")
+            );
+        }
+    }
+
+    @Test
+    void forgetsDeletedJars(@TempDir final Path dir) throws Exception {
+        final Path jar = dir.resolve("plugin.jar");
+        ReloadingManifestsTest.jar(jar, "Plugin-Id", "deleted");
+        try (ReloadingManifests map = new ReloadingManifests(
+            Collections.singleton(dir.toFile())
+        )) {
+            MatcherAssert.assertThat(
+                "doesn't read the JAR",
+                map.get("Plugin-Id"),
+                Matchers.equalTo("deleted")
+            );
+            Files.delete(jar);
+            final long deadline = System.nanoTime()
+                + TimeUnit.SECONDS.toNanos(30L);
+            while (map.containsKey("Plugin-Id") && System.nanoTime() < deadline) {
+                TimeUnit.MILLISECONDS.sleep(50L);
+            }
+            MatcherAssert.assertThat(
+                "keeps attributes of the deleted JAR",
+                map.containsKey("Plugin-Id"),
+                Matchers.is(false)
+            );
+        }
+    }
+
+    @Test
+    void stopsWatcherWhenClosed(@TempDir final Path dir) throws Exception {
+        final Set<Thread> before = ReloadingManifestsTest.watchers();
+        final ReloadingManifests map = new ReloadingManifests(
+            Collections.singleton(dir.toFile())
+        );
+        map.isEmpty();
+        final Set<Thread> started = ReloadingManifestsTest.watchers();
+        started.removeAll(before);
+        MatcherAssert.assertThat(
+            "doesn't start the watcher",
+            started,
+            Matchers.hasSize(1)
+        );
+        map.close();
+        final Thread thread = started.iterator().next();
+        thread.join(TimeUnit.SECONDS.toMillis(30L));
+        MatcherAssert.assertThat(
+            "doesn't stop the watcher",
+            thread.isAlive(),
+            Matchers.is(false)
+        );
+    }
+
+    @Test
+    void startsNoWatcherWhenClosedAlready(@TempDir final Path dir)
+        throws Exception {
+        Files.write(
+            dir.resolve("c.MF"),
+            "Plugin-Closed: yes\n".getBytes(StandardCharsets.UTF_8)
+        );
+        final Set<Thread> before = ReloadingManifestsTest.watchers();
+        final ReloadingManifests map = new ReloadingManifests(
+            Collections.singleton(dir.toFile())
+        );
+        map.close();
+        MatcherAssert.assertThat(
+            "doesn't read files after closing",
+            map.get("Plugin-Closed"),
+            Matchers.equalTo("yes")
+        );
+        final Set<Thread> started = ReloadingManifestsTest.watchers();
+        started.removeAll(before);
+        MatcherAssert.assertThat(
+            "starts the watcher after closing",
+            started,
+            Matchers.empty()
+        );
+    }
+
+    /**
+     * Make a JAR with one attribute in its manifest.
+     * @param path Where to make it
+     * @param name Name of the attribute
+     * @param value Value of the attribute
+     * @throws IOException If fails
+     */
+    private static void jar(final Path path, final String name,
+        final String value) throws IOException {
+        final Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        manifest.getMainAttributes().putValue(name, value);
+        try (OutputStream output = new JarOutputStream(
+            Files.newOutputStream(path), manifest
+        )) {
+            output.flush();
+        }
+    }
+
+    /**
+     * Watcher threads alive now.
+     * @return The threads
+     */
+    private static Set<Thread> watchers() {
+        final Set<Thread> threads = new HashSet<>(0);
+        for (final Thread thread : Thread.getAllStackTraces().keySet()) {
+            if ("ReloadingManifests-watcher".equals(thread.getName())) {
+                threads.add(thread);
+            }
+        }
+        return threads;
+    }
+
+}
@@ -0,0 +1,196 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.manifests;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.jar.Attributes;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test case for {@link WebAppMfs}.
+ *
+ * @since 2.1.0
+ */
+final class WebAppMfsTest {
+
+    @Test
+    void readsLibrariesOfExplodedWar(@TempDir final Path dir) throws Exception {
+        WebAppMfsTest.war(dir);
+        final MfMap map = new Manifests();
+        map.append(
+            new WebAppMfs(
+                path -> WebAppMfsTest.url(dir, path),
+                path -> WebAppMfsTest.listing(dir, path),
+                path -> dir.resolve(path.substring(1)).toString(),
+                true
+            )
+        );
+        MatcherAssert.assertThat(
+            "doesn't read the WAR and its libraries",
+            map.getAsMap(),
+            Matchers.allOf(
+                Matchers.hasEntry("War-Key", "war"),
+                Matchers.hasEntry("Order-Key", "war"),
+                Matchers.hasEntry("Lib-Key", "a")
+            )
+        );
+    }
+
+    @Test
+    void readsLibrariesByUrl(@TempDir final Path dir) throws Exception {
+        WebAppMfsTest.war(dir);
+        final MfMap map = new Manifests();
+        map.append(
+            new WebAppMfs(
+                path -> WebAppMfsTest.url(dir, path),
+                path -> WebAppMfsTest.listing(dir, path),
+                path -> null,
+                true
+            )
+        );
+        MatcherAssert.assertThat(
+            "doesn't read libraries by their URLs",
+            map.get("Lib-Key"),
+            Matchers.equalTo("a")
+        );
+    }
+
+    @Test
+    void findsManifestAfterOtherEntriesByUrl(@TempDir final Path dir)
+        throws Exception {
+        WebAppMfsTest.war(dir);
+        try (ZipOutputStream zip = new ZipOutputStream(
+            Files.newOutputStream(dir.resolve("WEB-INF/lib/0.jar"))
+        )) {
+            zip.putNextEntry(new ZipEntry("com/example/First.class"));
+            zip.write(new byte[64]);
+            zip.closeEntry();
+            zip.putNextEntry(new ZipEntry("META-INF/MANIFEST.MF"));
+            zip.write("Lib-Key: late\n".getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+        final MfMap map = new Manifests();
+        map.append(
+            new WebAppMfs(
+                path -> WebAppMfsTest.url(dir, path),
+                path -> WebAppMfsTest.listing(dir, path),
+                path -> null,
+                true
+            )
+        );
+        MatcherAssert.assertThat(
+            "doesn't find the manifest behind other entries",
+            map.get("Lib-Key"),
+            Matchers.equalTo("late")
+        );
+    }
+
+    @Test
+    void readsOnlyWarByDefault(@TempDir final Path dir) throws Exception {
+        WebAppMfsTest.war(dir);
+        final MfMap map = new Manifests();
+        map.append(
+            new WebAppMfs(
+                path -> WebAppMfsTest.url(dir, path),
+                path -> WebAppMfsTest.listing(dir, path),
+                path -> null,
+                false
+            )
+        );
+        MatcherAssert.assertThat(
+            "reads libraries",
+            map.keySet(),
+            Matchers.containsInAnyOrder("War-Key", "Order-Key")
+        );
+    }
+
+    /**
+     * Make an exploded WAR with two libraries.
+     * @param dir Where to make it
+     * @throws IOException If fails
+     */
+    private static void war(final Path dir) throws IOException {
+        final Path lib = dir.resolve("WEB-INF/lib");
+        Files.createDirectories(lib);
+        Files.createDirectories(dir.resolve("META-INF"));
+        Files.write(
+            dir.resolve("META-INF/MANIFEST.MF"),
+            "War-Key: war\nOrder-Key: war\n".getBytes(StandardCharsets.UTF_8)
+        );
+        WebAppMfsTest.jar(lib.resolve("b.jar"), "b");
+        WebAppMfsTest.jar(lib.resolve("a.jar"), "a");
+        Files.write(lib.resolve("readme.txt"), new byte[0]);
+    }
+
+    /**
+     * Find a resource in the WAR, as a servlet context does.
+     * @param dir Directory of the WAR
+     * @param path Path of the resource
+     * @return URL of the resource or NULL if it's absent
+     * @throws IOException If fails
+     */
+    private static URL url(final Path dir, final String path)
+        throws IOException {
+        final File file = dir.resolve(path.substring(1)).toFile();
+        URL url = null;
+        if (file.exists()) {
+            url = file.toURI().toURL();
+        }
+        return url;
+    }
+
+    /**
+     * List resources in the directory, as a servlet context does.
+     * @param dir Directory of the WAR
+     * @param path Path of the directory, with a trailing slash
+     * @return Paths of resources
+     */
+    private static Collection<?> listing(final Path dir, final String path) {
+        final Collection<String> paths = new ArrayList<>(0);
+        final File[] files = dir.resolve(path.substring(1)).toFile().listFiles();
+        if (files != null) {
+            for (final File file : files) {
+                paths.add(path + file.getName());
+            }
+        }
+        return paths;
+    }
+
+    /**
+     * Make a JAR of a library.
+     * @param path Where to make it
+     * @param value Value of the attributes
+     * @throws IOException If fails
+     */
+    private static void jar(final Path path, final String value)
+        throws IOException {
+        final Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        manifest.getMainAttributes().putValue("Lib-Key", value);
+        manifest.getMainAttributes().putValue("Order-Key", value);
+        try (JarOutputStream jar = new JarOutputStream(
+            Files.newOutputStream(path), manifest
+        )) {
+            jar.putNextEntry(new ZipEntry("com/example/Lib.class"));
+            jar.write(new byte[64]);
+            jar.closeEntry();
+        }
+    }
+
+}